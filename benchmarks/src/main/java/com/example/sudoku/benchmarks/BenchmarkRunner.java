@@ -0,0 +1,36 @@
+package com.example.sudoku.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The {@code BenchmarkRunner} class runs the benchmarks with the allocation profiler always enabled.
+ * <p>
+ * It accepts the usual JMH command line, so a subset can be run with a pattern such as {@code SolverBenchmark.solve}
+ * and parameters narrowed with {@code -p size=9}. The {@link GCProfiler} adds the bytes allocated per operation to
+ * every result, which is how allocation regressions in the hot paths show up.
+ * </p>
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark patterns]
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options.
+     * @throws CommandLineOptionException if the options can not be parsed.
+     * @throws RunnerException if a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.sudoku.benchmarks;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.PuzzleFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code Corpus} class loads the puzzle corpus shipped with the game, so every benchmark runs on the same boards.
+ */
+final class Corpus {
+    private static final String CORPUS = "/com/example/sudoku/puzzles/corpus.txt";
+
+    private Corpus() {
+    }
+
+    /**
+     * Returns the corpus puzzles of one board size.
+     *
+     * @param size the side of the boards wanted.
+     * @return new boards holding the puzzles, in corpus order.
+     * @throws IllegalStateException if the corpus has no puzzle of that size.
+     */
+    static List<Board> load(int size) {
+        List<Board> puzzles = new ArrayList<>();
+        InputStream stream = Objects.requireNonNull(Corpus.class.getResourceAsStream(CORPUS), CORPUS);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#") && line.length() == size * size) {
+                    puzzles.add(PuzzleFormat.parse(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (puzzles.isEmpty()) {
+            throw new IllegalStateException("No hay puzzles de " + size + "x" + size + " en el corpus");
+        }
+        return puzzles;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.sudoku.benchmarks;
+
+import com.example.sudoku.model.Sudoku;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.cache.SolutionCache;
+import com.example.sudoku.model.solver.SolverType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code GameBenchmark} class times the {@link Sudoku} calls the controller makes while a game is played.
+ * <p>
+ * A single game is generated from a fixed seed during setup. The single-call benchmarks cycle over the empty cells of
+ * that game, while {@link #playGame()} simulates a whole game the way the controller drives the model: every empty cell
+ * first gets a wrong digit and then the right one, each entry validated and followed by the solvability and win
+ * checks, and the board is emptied again at the end.
+ * </p>
+ * <p>
+ * The games search every board with the engine under test, as the application does, so these benchmarks keep
+ * comparing engines even though they check the same boards over and over. Only
+ * {@link #isSolvableAfterWrongEntryCached()} goes through a {@link SolutionCache}, on a second copy of the game, to
+ * time a cache hit against a search.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"6", "9"})
+    public int size;
+
+    @Param({"BACKTRACKING", "DANCING_LINKS", "PROPAGATION"})
+    public SolverType solverType;
+
+    private Sudoku sudoku;
+    private Sudoku cachedSudoku;
+    private int[] empty;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        sudoku = newGame();
+        cachedSudoku = newGame();
+        cachedSudoku.setSolutionCache(new SolutionCache(SolutionCache.DEFAULT_CAPACITY));
+        int count = 0;
+        int[] cells = new int[size * size];
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (sudoku.getPlayableValue(cell / size, cell % size) == 0) {
+                cells[count++] = cell;
+            }
+        }
+        empty = Arrays.copyOf(cells, count);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        int cell = nextEmptyCell();
+        return sudoku.isValid(cell / size, cell % size, wrongDigit(cell));
+    }
+
+    @Benchmark
+    public int checkPlacement() {
+        int cell = nextEmptyCell();
+        return sudoku.checkPlacement(cell / size, cell % size, wrongDigit(cell));
+    }
+
+    @Benchmark
+    public boolean isSolved() {
+        return sudoku.isSolved();
+    }
+
+    /**
+     * Enters a wrong digit and asks for solvability, which forces a new search, then clears the cell again.
+     */
+    @Benchmark
+    public boolean isSolvableAfterWrongEntry() {
+        int cell = nextEmptyCell();
+        int row = cell / size;
+        int col = cell % size;
+        sudoku.setPlayableValue(row, col, wrongDigit(cell));
+        boolean solvable = sudoku.isSolvable();
+        sudoku.setPlayableValue(row, col, 0);
+        return solvable;
+    }
+
+    /**
+     * Enters the right digit and asks for solvability, which the tracker answers without searching.
+     */
+    @Benchmark
+    public boolean isSolvableAfterRightEntry() {
+        int cell = nextEmptyCell();
+        int row = cell / size;
+        int col = cell % size;
+        sudoku.setPlayableValue(row, col, sudoku.getSolvedValue(row, col));
+        boolean solvable = sudoku.isSolvable();
+        sudoku.setPlayableValue(row, col, 0);
+        return solvable;
+    }
+
+    /**
+     * Same as {@link #isSolvableAfterWrongEntry()} with a solution cache, which answers from the cache once every
+     * wrong entry has been searched once.
+     */
+    @Benchmark
+    public boolean isSolvableAfterWrongEntryCached() {
+        int cell = nextEmptyCell();
+        int row = cell / size;
+        int col = cell % size;
+        cachedSudoku.setPlayableValue(row, col, wrongDigit(cell));
+        boolean solvable = cachedSudoku.isSolvable();
+        cachedSudoku.setPlayableValue(row, col, 0);
+        return solvable;
+    }
+
+    @Benchmark
+    public boolean playGame() {
+        boolean solved = false;
+        for (int cell : empty) {
+            int row = cell / size;
+            int col = cell % size;
+            int wrong = wrongDigit(cell);
+            if (sudoku.isValid(row, col, wrong)) {
+                sudoku.setPlayableValue(row, col, wrong);
+                sudoku.isSolvable();
+            } else {
+                sudoku.setPlayableValue(row, col, wrong);
+            }
+            int right = sudoku.getSolvedValue(row, col);
+            if (sudoku.isValid(row, col, right)) {
+                sudoku.setPlayableValue(row, col, right);
+                sudoku.isSolvable();
+            } else {
+                sudoku.setPlayableValue(row, col, right);
+            }
+            solved = sudoku.isSolved();
+        }
+        for (int cell : empty) {
+            sudoku.setPlayableValue(cell / size, cell % size, 0);
+        }
+        return solved;
+    }
+
+    /**
+     * Generates the game of the benchmark; the fixed seed makes every call return the same puzzle.
+     */
+    private Sudoku newGame() {
+        Sudoku game = new Sudoku(SudokuGeometry.ofSize(size), solverType, new SplittableRandom(SEED));
+        game.generateSolvedBoard();
+        game.removeCellsToCreatePuzzle();
+        return game;
+    }
+
+    private int nextEmptyCell() {
+        int cell = empty[next];
+        next = next + 1 == empty.length ? 0 : next + 1;
+        return cell;
+    }
+
+    private int wrongDigit(int cell) {
+        return sudoku.getSolvedValue(cell / size, cell % size) % size + 1;
+    }
+}
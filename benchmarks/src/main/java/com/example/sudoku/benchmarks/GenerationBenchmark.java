@@ -0,0 +1,88 @@
+package com.example.sudoku.benchmarks;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.PuzzleGenerator;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.rating.Difficulty;
+import com.example.sudoku.model.rating.PuzzleRating;
+import com.example.sudoku.model.solver.SolverType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code GenerationBenchmark} class times puzzle generation and rating.
+ * <p>
+ * The generator is seeded with a fixed value, so every run goes through the same sequence of solutions and removal
+ * orders. The puzzle benchmarks all start from the same solved board, generated once during setup.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"6", "9"})
+    public int size;
+
+    @Param({"BACKTRACKING", "DANCING_LINKS", "PROPAGATION"})
+    public SolverType solverType;
+
+    private PuzzleGenerator generator;
+    private Board solution;
+    private Board puzzle;
+    private Board work;
+    private List<Board> corpus;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SudokuGeometry geometry = SudokuGeometry.ofSize(size);
+        generator = new PuzzleGenerator(geometry, solverType.create(geometry), new SplittableRandom(SEED));
+        solution = new Board(geometry);
+        puzzle = new Board(geometry);
+        work = new Board(geometry);
+        generator.generateSolution(solution);
+        corpus = Corpus.load(size);
+    }
+
+    @Benchmark
+    public Board generateSolution() {
+        generator.generateSolution(work);
+        return work;
+    }
+
+    @Benchmark
+    public Board createPuzzle() {
+        generator.createPuzzle(solution, puzzle);
+        return puzzle;
+    }
+
+    @Benchmark
+    public PuzzleRating createMediumPuzzle() {
+        return generator.createPuzzle(solution, puzzle, Difficulty.MEDIUM, 20);
+    }
+
+    @Benchmark
+    public PuzzleRating rate() {
+        Board next = corpus.get(this.next);
+        this.next = this.next + 1 == corpus.size() ? 0 : this.next + 1;
+        return generator.rate(next);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sudoku.benchmarks;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.solver.SolverType;
+import com.example.sudoku.model.solver.SudokuSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code SolverBenchmark} class times every {@link SolverType} on the corpus puzzles of a board size, one puzzle per
+ * invocation in corpus order, for solving and for the uniqueness check used by the generator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+    @Param({"6", "9"})
+    public int size;
+
+    @Param({"BACKTRACKING", "DANCING_LINKS", "PROPAGATION"})
+    public SolverType solverType;
+
+    private List<Board> puzzles;
+    private SudokuSolver solver;
+    private Board work;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SudokuGeometry geometry = SudokuGeometry.ofSize(size);
+        puzzles = Corpus.load(size);
+        solver = solverType.create(geometry);
+        work = new Board(geometry);
+    }
+
+    @Benchmark
+    public boolean solve() {
+        work.copyFrom(nextPuzzle());
+        return solver.solve(work);
+    }
+
+    @Benchmark
+    public int countSolutions() {
+        work.copyFrom(nextPuzzle());
+        return solver.countSolutions(work, 2);
+    }
+
+    private Board nextPuzzle() {
+        Board puzzle = puzzles.get(next);
+        next = next + 1 == puzzles.size() ? 0 : next + 1;
+        return puzzle;
+    }
+}
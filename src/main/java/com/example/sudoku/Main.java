@@ -1,5 +1,6 @@
 package com.example.sudoku;
 
+import com.example.sudoku.model.SudokuGeometry;
 import com.example.sudoku.view.GameStage;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -13,8 +14,15 @@ public class Main extends Application {
         launch(args);
     }
 
+    /**
+     * Opens the game window. The board size can be chosen with the {@code --size=N} argument, where {@code N} is 4, 6,
+     * 9, 12 or 16; without it the classic 6x6 board is used.
+     *
+     * @param primaryStage the stage provided by the JavaFX runtime, unused.
+     */
     @Override
     public void start(Stage primaryStage){
-        new GameStage();
+        String size = getParameters().getNamed().get("size");
+        new GameStage(size == null ? SudokuGeometry.SIX : SudokuGeometry.ofSize(Integer.parseInt(size)));
     }
 }
\ No newline at end of file
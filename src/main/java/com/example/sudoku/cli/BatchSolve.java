@@ -0,0 +1,247 @@
+package com.example.sudoku.cli;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.PuzzleFormat;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.cache.CachingSolver;
+import com.example.sudoku.model.cache.SolutionCache;
+import com.example.sudoku.model.solver.SolverType;
+import com.example.sudoku.model.solver.SudokuSolver;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The {@code BatchSolve} class is a headless tool that solves or validates a file of puzzles, one per line, in the
+ * {@link PuzzleFormat} text form.
+ * <p>
+ * The input is streamed: lines are read in chunks of {@value #CHUNK}, each chunk is handed to a worker thread, and the
+ * results are written as soon as the oldest chunk in flight is done, so the output keeps the order of the input. At
+ * most {@value #CHUNKS_PER_THREAD} chunks per thread are in flight at a time, which bounds the memory used whatever
+ * the size of the file and makes the reader wait for slow workers. Every worker thread keeps its own solver and boards
+ * for each board size it meets, so nothing is allocated per puzzle beyond the output line.
+ * </p>
+ * <p>
+ * The output has one line per input line. In {@code solve} mode it is the solution, in {@code validate} mode whether
+ * the puzzle has a single solution, several or none; a line that is not a valid puzzle gives the reason instead. Empty
+ * lines and lines starting with {@code #} are copied as they are. A summary is printed to the standard error at the
+ * end. The input and output default to the standard streams, also selected with {@code -}.
+ * </p>
+ * <p>
+ * Files that repeat puzzles, or hold puzzles symmetric to each other, can be solved with
+ * {@code -Dsudoku.cache=true}: the workers then share the {@link SolutionCache} of every size, so a puzzle seen before
+ * is not searched again. It only applies to {@code solve} mode, as solution counts are never cached, and the hit rate
+ * is added to the summary. Looking a board up costs more than solving it below 9x9, so the cache only pays off on the
+ * larger sizes.
+ * </p>
+ * <pre>
+ * java -cp target/classes com.example.sudoku.cli.BatchSolve [input|-] [output|-] [solve|validate] [threads] [solver]
+ * </pre>
+ */
+public class BatchSolve {
+    private static final int CHUNK = 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final String UNIQUE = "única";
+    private static final String MULTIPLE = "múltiple";
+    private static final String UNSOLVABLE = "sin solución";
+    private static final String INVALID = "inválido: ";
+    private static final int SOLVED = 0;
+    private static final int SEVERAL = 1;
+    private static final int NONE = 2;
+    private static final int BAD = 3;
+    private static final boolean CACHED = Boolean.getBoolean("sudoku.cache");
+
+    private final boolean validate;
+    private final SolverType solverType;
+    private final ThreadLocal<Map<SudokuGeometry, Worker>> workers = ThreadLocal.withInitial(HashMap::new);
+    private final Set<SudokuGeometry> geometries = ConcurrentHashMap.newKeySet();
+
+    private BatchSolve(boolean validate, SolverType solverType) {
+        this.validate = validate;
+        this.solverType = solverType;
+    }
+
+    /**
+     * Runs the batch.
+     *
+     * @param args the input file, the output file, the mode ({@code solve} by default), the number of worker threads
+     *             (one per core by default) and the {@link SolverType} ({@code PROPAGATION} by default).
+     * @throws IOException if a file can not be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        String input = args.length > 0 ? args[0] : "-";
+        String output = args.length > 1 ? args[1] : "-";
+        String mode = args.length > 2 ? args[2] : "solve";
+        if (!mode.equals("solve") && !mode.equals("validate")) {
+            throw new IllegalArgumentException("Modo desconocido: " + mode);
+        }
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        SolverType solverType = args.length > 4 ? SolverType.valueOf(args[4]) : SolverType.PROPAGATION;
+
+        BatchSolve batch = new BatchSolve(mode.equals("validate"), solverType);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-solve");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long[] tally;
+        try (BufferedReader reader = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(input));
+             BufferedWriter writer = output.equals("-")
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Path.of(output))) {
+            tally = batch.run(reader, writer, pool, threads * CHUNKS_PER_THREAD);
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long puzzles = tally[SOLVED] + tally[SEVERAL] + tally[NONE] + tally[BAD];
+        System.err.printf("%d puzzles en %.2f s (%.0f puzzles/s con %d hilos): %d %s, %d %s, %d %s, %d inválidos%n",
+                puzzles, seconds, puzzles / seconds, threads, tally[SOLVED], batch.validate ? UNIQUE : "resueltos",
+                tally[SEVERAL], MULTIPLE, tally[NONE], UNSOLVABLE, tally[BAD]);
+        for (SudokuGeometry geometry : batch.geometries) {
+            System.err.println("caché de soluciones " + geometry + ": " + SolutionCache.forGeometry(geometry));
+        }
+    }
+
+    /**
+     * Streams the input through the workers and writes the results in order.
+     *
+     * @return the number of puzzles that were solved or unique, multiple, unsolvable and invalid.
+     */
+    private long[] run(BufferedReader reader, BufferedWriter writer, ExecutorService pool, int window)
+            throws IOException {
+        long[] tally = new long[4];
+        ArrayDeque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        String[] lines = new String[CHUNK];
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines[count++] = line;
+            if (count == CHUNK) {
+                if (inFlight.size() == window) {
+                    write(inFlight.poll(), writer, tally);
+                }
+                String[] chunk = lines;
+                inFlight.add(pool.submit(() -> process(chunk, CHUNK)));
+                lines = new String[CHUNK];
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            String[] chunk = lines;
+            int last = count;
+            inFlight.add(pool.submit(() -> process(chunk, last)));
+        }
+        while (!inFlight.isEmpty()) {
+            write(inFlight.poll(), writer, tally);
+        }
+        return tally;
+    }
+
+    private static void write(Future<Chunk> future, BufferedWriter writer, long[] tally) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        for (String result : chunk.results) {
+            writer.write(result);
+            writer.newLine();
+        }
+        for (int i = 0; i < tally.length; i++) {
+            tally[i] += chunk.tally[i];
+        }
+    }
+
+    /**
+     * Solves or validates the first {@code count} lines of a chunk on the calling worker thread.
+     */
+    private Chunk process(String[] lines, int count) {
+        Chunk chunk = new Chunk(count);
+        Map<SudokuGeometry, Worker> byGeometry = workers.get();
+        for (int i = 0; i < count; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                chunk.results[i] = lines[i];
+                continue;
+            }
+            int outcome;
+            try {
+                Worker worker = byGeometry.computeIfAbsent(PuzzleFormat.geometryOf(line), Worker::new);
+                PuzzleFormat.parseInto(line, worker.board);
+                if (worker.board.hasConflicts()) {
+                    chunk.results[i] = INVALID + "número repetido";
+                    outcome = BAD;
+                } else if (validate) {
+                    int solutions = worker.solver.countSolutions(worker.board, 2);
+                    outcome = solutions == 1 ? SOLVED : solutions == 2 ? SEVERAL : NONE;
+                    chunk.results[i] = outcome == SOLVED ? UNIQUE : outcome == SEVERAL ? MULTIPLE : UNSOLVABLE;
+                } else if (worker.solver.solve(worker.board)) {
+                    chunk.results[i] = PuzzleFormat.format(worker.board);
+                    outcome = SOLVED;
+                } else {
+                    chunk.results[i] = UNSOLVABLE;
+                    outcome = NONE;
+                }
+            } catch (IllegalArgumentException e) {
+                chunk.results[i] = INVALID + e.getMessage();
+                outcome = BAD;
+            }
+            chunk.tally[outcome]++;
+        }
+        return chunk;
+    }
+
+    /**
+     * The solver and board a worker thread uses for one board size.
+     */
+    private final class Worker {
+        private final SudokuSolver solver;
+        private final Board board;
+
+        private Worker(SudokuGeometry geometry) {
+            if (CACHED) {
+                this.solver = new CachingSolver(geometry, solverType.create(geometry),
+                        SolutionCache.forGeometry(geometry));
+                geometries.add(geometry);
+            } else {
+                this.solver = solverType.create(geometry);
+            }
+            this.board = new Board(geometry);
+        }
+    }
+
+    /**
+     * The output lines of a chunk and how many of its puzzles ended in each way.
+     */
+    private static final class Chunk {
+        private final String[] results;
+        private final long[] tally = new long[4];
+
+        private Chunk(int count) {
+            this.results = new String[count];
+        }
+    }
+}
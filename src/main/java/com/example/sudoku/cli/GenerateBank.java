@@ -0,0 +1,153 @@
+package com.example.sudoku.cli;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.Canonicalizer;
+import com.example.sudoku.model.PuzzleGenerator;
+import com.example.sudoku.model.PuzzleKey;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.bank.PuzzleBank;
+import com.example.sudoku.model.bank.PuzzleBankWriter;
+import com.example.sudoku.model.rating.Difficulty;
+import com.example.sudoku.model.solver.SolverType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code GenerateBank} class is a headless tool that fills a {@link PuzzleBank} file with minimal unique-solution
+ * puzzles, each rated by difficulty.
+ * <p>
+ * Generation runs on a {@link ForkJoinPool} with one worker per core by default. The requested range of puzzles is
+ * split in halves down to chunks of {@value #CHUNK} puzzles, and every split hands one half a {@link SplittableRandom}
+ * split off the parent's, so each chunk has its own independent random stream and its own generator, solver and rater;
+ * the workers share nothing but the set of canonical keys seen so far and the output file. Puzzles that are equivalent
+ * to one already written under the symmetries handled by the {@link Canonicalizer} are dropped, and the rest are
+ * streamed to the bank as they are produced, in no particular order.
+ * </p>
+ * <p>
+ * The bank is written to {@code banks/sudoku-NxN.bank} unless another file is given, which is where the game looks
+ * for it. At the end the throughput is printed both in total and per worker.
+ * </p>
+ * <pre>
+ * java -cp target/classes com.example.sudoku.cli.GenerateBank [size] [count] [file] [seed] [threads]
+ * </pre>
+ */
+public class GenerateBank {
+    private static final int CHUNK = 64;
+    private static final int PROGRESS_STEP = 10_000;
+
+    private final SudokuGeometry geometry;
+    private final PuzzleBankWriter writer;
+    private final Set<PuzzleKey> seen = ConcurrentHashMap.newKeySet();
+    private final Map<Difficulty, Integer> distribution = new EnumMap<>(Difficulty.class);
+    private final long start = System.nanoTime();
+    private int generated;
+    private int duplicates;
+
+    private GenerateBank(SudokuGeometry geometry, PuzzleBankWriter writer) {
+        this.geometry = geometry;
+        this.writer = writer;
+    }
+
+    /**
+     * Generates the bank.
+     *
+     * @param args the board size (6 by default), the number of puzzles (10000 by default), the output file, the seed
+     *             and the number of worker threads (one per core by default).
+     * @throws IOException if the bank can not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        SudokuGeometry geometry = SudokuGeometry.ofSize(args.length > 0 ? Integer.parseInt(args[0]) : 6);
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Path path = args.length > 2 ? Path.of(args[2]) : Path.of("banks", PuzzleBank.fileName(geometry));
+        SplittableRandom random = args.length > 3
+                ? new SplittableRandom(Long.parseLong(args[3]))
+                : new SplittableRandom();
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        GenerateBank bank;
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(path, geometry)) {
+            bank = new GenerateBank(geometry, writer);
+            pool.invoke(bank.new Chunk(0, count, random));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - bank.start) / 1e9;
+        System.out.printf("%d puzzles (%d repetidos descartados) en %.1f s: %.0f puzzles/s, %.0f puzzles/s por hilo "
+                + "con %d hilos%n", count - bank.duplicates, bank.duplicates, seconds, count / seconds,
+                count / seconds / threads, threads);
+        System.out.println(path + ": " + bank.distribution);
+    }
+
+    /**
+     * Writes a puzzle unless an equivalent one was already written.
+     */
+    private void accept(Canonicalizer canonicalizer, Board solution, Board puzzle, Difficulty difficulty) {
+        boolean fresh = seen.add(canonicalizer.canonicalize(puzzle));
+        synchronized (this) {
+            generated++;
+            if (fresh) {
+                try {
+                    writer.write(solution, puzzle, difficulty);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                distribution.merge(difficulty, 1, Integer::sum);
+            } else {
+                duplicates++;
+            }
+            if (generated % PROGRESS_STEP == 0) {
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%d puzzles, %.0f puzzles/s%n", generated, generated / seconds);
+            }
+        }
+    }
+
+    /**
+     * A range of puzzles to generate with its own random stream.
+     */
+    @SuppressWarnings("serial")
+    private final class Chunk extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        Chunk(int from, int to, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Chunk(from, middle, random.split()), new Chunk(middle, to, random));
+                return;
+            }
+            PuzzleGenerator generator = new PuzzleGenerator(geometry, SolverType.BACKTRACKING.create(geometry), random);
+            Canonicalizer canonicalizer = new Canonicalizer(geometry);
+            Board solution = new Board(geometry);
+            Board puzzle = new Board(geometry);
+            for (int i = from; i < to; i++) {
+                generator.generate(solution, puzzle);
+                accept(canonicalizer, solution, puzzle, generator.rate(puzzle).getDifficulty());
+            }
+        }
+    }
+}
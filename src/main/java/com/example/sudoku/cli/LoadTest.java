@@ -0,0 +1,273 @@
+package com.example.sudoku.cli;
+
+import com.example.sudoku.model.CellState;
+import com.example.sudoku.model.GameSession;
+import com.example.sudoku.model.Sudoku;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.cache.SolutionCache;
+import com.example.sudoku.model.solver.SolverType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code LoadTest} class is a headless tool that plays many {@link GameSession}s at once and reports the latency
+ * of every operation.
+ * <p>
+ * Each simulated player starts a game and then makes random moves on the cells still to be solved: mostly correct
+ * numbers, some wrong ones, some clears and some hints, checking after each move whether the board is solved, until
+ * the game is won or its moves run out. A move is one task: when it finishes, the player submits its next move to the
+ * same executor, so all the sessions stay alive and interleave on the workers the way the games of many connected
+ * players would, sharing the puzzle bank. With {@code -Dsudoku.cache=true} the players also share the
+ * {@link SolutionCache} of the geometry, and its hit rate is printed at the end.
+ * </p>
+ * <p>
+ * With {@code threads} set to {@code 0}, the default, every move runs on its own virtual thread when the runtime
+ * provides them (Java 21 and later); on older runtimes, or with a positive number, a fixed pool of platform threads is
+ * used. Latencies are recorded by each player without any locking and merged at the end, and the percentiles are
+ * printed per operation together with the overall throughput.
+ * </p>
+ * <pre>
+ * java -cp target/classes com.example.sudoku.cli.LoadTest [size] [players] [moves] [threads] [seed]
+ * </pre>
+ */
+public class LoadTest {
+    private static final String[] OPERATIONS = {"nuevo juego", "colocar", "borrar", "ayuda", "resuelto?"};
+    private static final int NEW_GAME = 0;
+    private static final int PLACE = 1;
+    private static final int CLEAR = 2;
+    private static final int HINT = 3;
+    private static final int CHECK = 4;
+    private static final boolean CACHED = Boolean.getBoolean("sudoku.cache");
+
+    private final SudokuGeometry geometry;
+    private final ExecutorService executor;
+    private final CountDownLatch finished;
+    private final Latencies[] totals = new Latencies[OPERATIONS.length];
+    private final AtomicInteger won = new AtomicInteger();
+
+    private LoadTest(SudokuGeometry geometry, ExecutorService executor, int players) {
+        this.geometry = geometry;
+        this.executor = executor;
+        this.finished = new CountDownLatch(players);
+        for (int op = 0; op < totals.length; op++) {
+            totals[op] = new Latencies();
+        }
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the board size (6 by default), the number of players (2000 by default), the maximum number of moves
+     *             per player (100 by default), the number of worker threads ({@code 0}, virtual threads, by default)
+     *             and the seed.
+     * @throws InterruptedException if interrupted while waiting for the players.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        SudokuGeometry geometry = SudokuGeometry.ofSize(args.length > 0 ? Integer.parseInt(args[0]) : 6);
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int moves = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        SplittableRandom random = args.length > 4
+                ? new SplittableRandom(Long.parseLong(args[4]))
+                : new SplittableRandom();
+
+        ExecutorService executor = threads > 0 ? null : newVirtualThreadExecutor();
+        String mode = "hilos virtuales";
+        if (executor == null) {
+            threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+            executor = Executors.newFixedThreadPool(threads);
+            mode = threads + " hilos de plataforma";
+        }
+
+        LoadTest test = new LoadTest(geometry, executor, players);
+        long start = System.nanoTime();
+        for (int i = 0; i < players; i++) {
+            executor.execute(test.new Player(random.split(), moves));
+        }
+        test.finished.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+
+        long operations = 0;
+        System.out.printf("%-12s %10s %10s %10s %10s %10s %10s %10s%n", "operación", "muestras", "media us", "p50 us",
+                "p90 us", "p99 us", "p99.9 us", "max us");
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            Latencies latencies = test.totals[op];
+            operations += latencies.count;
+            latencies.sort();
+            System.out.printf("%-12s %10d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", OPERATIONS[op],
+                    latencies.count, latencies.mean() / 1e3, latencies.percentile(50) / 1e3,
+                    latencies.percentile(90) / 1e3, latencies.percentile(99) / 1e3,
+                    latencies.percentile(99.9) / 1e3, latencies.percentile(100) / 1e3);
+        }
+        System.out.printf("%d jugadores %s en %s, %d partidas ganadas, %d operaciones en %.1f s: %.0f operaciones/s%n",
+                players, geometry, mode, test.won.get(), operations, seconds, operations / seconds);
+        if (CACHED) {
+            System.out.println("caché de soluciones: " + SolutionCache.forGeometry(geometry));
+        }
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task, looked up reflectively so the tool still runs on
+     * runtimes without virtual threads.
+     *
+     * @return the executor, or {@code null} if the runtime has no virtual threads.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private synchronized void merge(Latencies[] latencies) {
+        for (int op = 0; op < totals.length; op++) {
+            totals[op].addAll(latencies[op]);
+        }
+    }
+
+    /**
+     * A simulated player, running one move each time it is executed.
+     */
+    private final class Player implements Runnable {
+        private final SplittableRandom random;
+        private final Latencies[] latencies = new Latencies[OPERATIONS.length];
+        private final Sudoku sudoku;
+        private final GameSession session;
+        private int movesLeft;
+        private boolean started;
+
+        Player(SplittableRandom random, int moves) {
+            this.random = random;
+            this.movesLeft = moves;
+            this.sudoku = new Sudoku(geometry, SolverType.BACKTRACKING, random);
+            if (CACHED) {
+                sudoku.setSolutionCache(SolutionCache.forGeometry(geometry));
+            }
+            this.session = new GameSession(sudoku);
+            for (int op = 0; op < latencies.length; op++) {
+                latencies[op] = new Latencies();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!started) {
+                long start = System.nanoTime();
+                session.newGame();
+                latencies[NEW_GAME].add(System.nanoTime() - start);
+                started = true;
+            } else {
+                move();
+                movesLeft--;
+            }
+            if (session.isWon() || movesLeft == 0) {
+                if (session.isWon()) {
+                    won.incrementAndGet();
+                }
+                merge(latencies);
+                finished.countDown();
+            } else {
+                executor.execute(this);
+            }
+        }
+
+        private void move() {
+            int size = geometry.getSize();
+            int roll = random.nextInt(100);
+            long start = System.nanoTime();
+            if (roll < 5) {
+                int cell = session.hint();
+                if (cell >= 0) {
+                    session.resolve(cell / size, cell % size);
+                }
+                latencies[HINT].add(System.nanoTime() - start);
+            } else {
+                boolean clearing = roll < 15;
+                int cell = randomCell(size, clearing);
+                int row = cell / size;
+                int col = cell % size;
+                start = System.nanoTime();
+                if (clearing && session.getState(row, col) != CellState.EMPTY) {
+                    session.clear(row, col);
+                    latencies[CLEAR].add(System.nanoTime() - start);
+                } else {
+                    int digit = roll < 75 ? sudoku.getSolvedValue(row, col) : 1 + random.nextInt(size);
+                    session.place(row, col, digit);
+                    latencies[PLACE].add(System.nanoTime() - start);
+                }
+            }
+            start = System.nanoTime();
+            session.isSolved();
+            latencies[CHECK].add(System.nanoTime() - start);
+        }
+
+        /**
+         * Picks a cell the player may edit. Numbers go preferably to cells that are empty or wrong, the way a player
+         * works towards the solution; clears go to any cell that is not a clue.
+         */
+        private int randomCell(int size, boolean anyEditable) {
+            int cells = size * size;
+            for (int attempt = 0; ; attempt++) {
+                int cell = random.nextInt(cells);
+                CellState state = session.getState(cell / size, cell % size);
+                if (state != CellState.GIVEN && (anyEditable || attempt >= 4 * cells
+                        || (state != CellState.VALID && state != CellState.HINTED))) {
+                    return cell;
+                }
+            }
+        }
+    }
+
+    /**
+     * A growable array of latencies in nanoseconds.
+     */
+    private static final class Latencies {
+        private long[] values = new long[64];
+        private int count;
+
+        void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+        }
+
+        void addAll(Latencies other) {
+            if (count + other.count > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, count + other.count));
+            }
+            System.arraycopy(other.values, 0, values, count, other.count);
+            count += other.count;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, count);
+        }
+
+        double mean() {
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += values[i];
+            }
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns a percentile of the sorted latencies, by the nearest-rank method.
+         */
+        long percentile(double percent) {
+            if (count == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percent / 100 * count);
+            return values[Math.max(0, rank - 1)];
+        }
+    }
+}
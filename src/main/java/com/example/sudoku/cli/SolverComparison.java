@@ -0,0 +1,125 @@
+package com.example.sudoku.cli;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.PuzzleFormat;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.solver.SolverStats;
+import com.example.sudoku.model.solver.SolverType;
+import com.example.sudoku.model.solver.SudokuSolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The {@code SolverComparison} class is a headless tool that times every {@link SolverType} on a fixed puzzle corpus.
+ * <p>
+ * By default it reads the corpus shipped in {@code /com/example/sudoku/puzzles/corpus.txt}; a different file can be
+ * passed as the first argument. Every puzzle is solved repeatedly by each engine after a warm-up round, the solutions
+ * are cross-checked, and the average time per solve is printed per board size together with the speedup of each
+ * engine over the {@link SolverType#BACKTRACKING} one and the average {@link SolverStats} counters of a single solve,
+ * which show how much of the search space each engine avoids.
+ * </p>
+ * <pre>
+ * java -cp target/classes com.example.sudoku.cli.SolverComparison [corpus.txt] [repetitions]
+ * </pre>
+ */
+public class SolverComparison {
+    private static final String CORPUS = "/com/example/sudoku/puzzles/corpus.txt";
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args an optional corpus file and an optional number of repetitions per puzzle.
+     * @throws IOException if the corpus can not be read.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> corpus = args.length > 0 ? readCorpus(Files.newBufferedReader(Path.of(args[0]))) : readCorpus(
+                new BufferedReader(new InputStreamReader(openDefaultCorpus(), StandardCharsets.UTF_8)));
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        Map<SudokuGeometry, List<Board>> bySize = new TreeMap<>(Comparator.comparingInt(SudokuGeometry::getSize));
+        for (String line : corpus) {
+            Board puzzle = PuzzleFormat.parse(line);
+            bySize.computeIfAbsent(puzzle.getGeometry(), geometry -> new ArrayList<>()).add(puzzle);
+        }
+
+        System.out.printf("%-14s %8s %-14s %14s %8s %12s %12s %12s%n", "tablero", "puzzles", "motor", "us/solve",
+                "speedup", "nodos", "retrocesos", "propagados");
+        for (Map.Entry<SudokuGeometry, List<Board>> entry : bySize.entrySet()) {
+            SudokuGeometry geometry = entry.getKey();
+            List<Board> puzzles = entry.getValue();
+            double baseline = 0;
+            String reference = null;
+            for (SolverType type : SolverType.values()) {
+                SudokuSolver solver = type.create(geometry);
+                Board work = new Board(geometry);
+                StringBuilder solutions = new StringBuilder();
+                solver.getStats().reset();
+                for (Board puzzle : puzzles) {
+                    work.copyFrom(puzzle);
+                    if (!solver.solve(work)) {
+                        throw new IllegalStateException(type + " no resolvió " + PuzzleFormat.format(puzzle));
+                    }
+                    solutions.append(PuzzleFormat.format(work));
+                }
+                SolverStats stats = solver.getStats();
+                double count = puzzles.size();
+                String counters = String.format("%12.1f %12.1f %12.1f", stats.getNodes() / count,
+                        stats.getBacktracks() / count, stats.getPropagations() / count);
+                if (reference == null) {
+                    reference = solutions.toString();
+                } else if (!reference.equals(solutions.toString())) {
+                    throw new IllegalStateException(type + " encontró soluciones distintas para " + geometry);
+                }
+                time(solver, puzzles, work, Math.max(1, repetitions / 4));
+                long nanos = time(solver, puzzles, work, repetitions);
+                double micros = nanos / 1_000.0 / repetitions / puzzles.size();
+                if (type == SolverType.BACKTRACKING) {
+                    baseline = micros;
+                }
+                System.out.printf("%-14s %8d %-14s %14.2f %7.2fx %s%n",
+                        geometry, puzzles.size(), type, micros, baseline / micros, counters);
+            }
+        }
+    }
+
+    private static long time(SudokuSolver solver, List<Board> puzzles, Board work, int repetitions) {
+        long start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            for (Board puzzle : puzzles) {
+                work.copyFrom(puzzle);
+                solver.solve(work);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static InputStream openDefaultCorpus() {
+        return Objects.requireNonNull(SolverComparison.class.getResourceAsStream(CORPUS), CORPUS);
+    }
+
+    private static List<String> readCorpus(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (reader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.sudoku.controller;
+
+import com.example.sudoku.model.Conflict;
+
+/**
+ * The {@code ConflictMessages} class turns the {@link Conflict} codes of the model into the messages shown to the
+ * player.
+ * <p>
+ * Messages are only built here, when the view needs them, so validating a placement in the model never creates a
+ * string.
+ * </p>
+ */
+final class ConflictMessages {
+
+    private ConflictMessages() {
+    }
+
+    /**
+     * Describes the outcome of checking a placement.
+     *
+     * @param conflict the code returned by {@link com.example.sudoku.model.Sudoku#checkPlacement(int, int, int)}.
+     * @param num the number that was placed.
+     * @return the message for the information label, empty when the placement is valid.
+     */
+    static String describe(int conflict, int num) {
+        switch (Conflict.unit(conflict)) {
+            case Conflict.ROW: return "Mismo numero (" + num + ") en la fila!";
+            case Conflict.COLUMN: return "Mismo numero (" + num + ") en la columna!";
+            case Conflict.BLOCK: return "Mismo numero (" + num + ") en el bloque!";
+            default: return "";
+        }
+    }
+}
@@ -2,30 +2,59 @@ package com.example.sudoku.controller;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.control.TextFormatter;
-import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.GridPane;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import com.example.sudoku.model.Sudoku;
+import com.example.sudoku.model.CellState;
+import com.example.sudoku.model.GameSession;
+import com.example.sudoku.model.GameSnapshot;
+import com.example.sudoku.model.PuzzlePool;
+import com.example.sudoku.model.SolvabilityCheck;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.bank.PuzzleBank;
+import com.example.sudoku.model.metrics.Metrics;
+import com.example.sudoku.model.metrics.Operation;
+import com.example.sudoku.model.rating.Hint;
+import com.example.sudoku.model.solver.SolutionSet;
 import com.example.sudoku.view.Animation;
-import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
 /**
  * The {@code GameController} class manages the user interactions for the Sudoku game.
  * <p>
- * It is responsible for initializing the game grid, handling user input, providing hints,
- * and triggering the win sequence upon puzzle completion. It coordinates between the view components and the
- * underlying {@link Sudoku} model.
+ * It is responsible for initializing the game grid, forwarding user input and hint requests, and triggering the win
+ * sequence upon puzzle completion. The rules of the game live in a {@link GameSession}; the controller only turns text
+ * field edits into session calls, runs the solvability searches the session leaves pending on the
+ * {@link SolverExecutor}, and styles each cell after its {@link CellState}.
+ * </p>
+ * <p>
+ * Cells are styled by {@code game.css} through one pseudo-class per {@link CellState}, and the grid and labels through
+ * a {@code won} pseudo-class, so an edit only flips the pseudo-classes of the cells whose state changed and no inline
+ * style is ever parsed.
+ * </p>
+ * <p>
+ * Moves are taken back with Ctrl+Z and made again with Ctrl+Y or Ctrl+Shift+Z. A game that is not finished is saved
+ * with {@link GameSnapshot} when its window closes and resumed the next time a game of the same size starts.
+ * </p>
+ * <p>
+ * Puzzles are never generated on the JavaFX Application Thread: when the {@link PuzzlePool} has none ready, the grid is
+ * disabled while one is generated on the {@link SolverExecutor}, and the game starts when it arrives. Hints are never
+ * searched there either: the digits they need are searched in the background as soon as a game starts, and a hint
+ * asked for before they are known waits for a check on the {@link SolverExecutor}.
  * </p>
  */
 public class GameController {
@@ -44,29 +73,94 @@ public class GameController {
 
     private final ArrayList<ArrayList<TextField>> textFields = new ArrayList<>();
 
-    private PriorityQueue<int[]> missplacedPositions = new PriorityQueue<>(
-            (a, b) -> Integer.compare(b[2], a[2])
-    );
+    private final SudokuGeometry geometry;
 
-    private final Sudoku sudoku = new Sudoku();
+    private final GameSession session;
 
     private final BooleanProperty gameWon = new SimpleBooleanProperty(false);
 
+    private final SolverExecutor solverExecutor = new SolverExecutor();
+
+    private final ThreadLocal<SolutionSet> workerSolutions;
+
+    private final Path savePath;
+
+    private static final int GENERATION = -1;
+
+    private static final int HINT = -2;
+
+    private static final KeyCombination UNDO = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+
+    private static final KeyCombination REDO = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+
+    private static final KeyCombination REDO_SHIFT = new KeyCodeCombination(
+            KeyCode.Z, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN
+    );
+
+    private static final PseudoClass GIVEN = PseudoClass.getPseudoClass("given");
+
+    private static final PseudoClass VALID = PseudoClass.getPseudoClass("valid");
+
+    private static final PseudoClass HINTED = PseudoClass.getPseudoClass("hinted");
+
+    private static final PseudoClass CONFLICT = PseudoClass.getPseudoClass("conflict");
+
+    private static final PseudoClass UNSOLVABLE = PseudoClass.getPseudoClass("unsolvable");
+
+    private static final PseudoClass WON = PseudoClass.getPseudoClass("won");
+
+    private final PseudoClass[] shownStates;
+
+    private boolean updating;
+
+    private boolean generating;
+
+    /**
+     * Constructs a controller for the classic 6x6 board with 2x3 blocks.
+     */
+    public GameController() {
+        this(SudokuGeometry.SIX);
+    }
+
+    /**
+     * Constructs a controller whose grid and model are built from the given geometry.
+     *
+     * @param geometry the shape of the board and its blocks.
+     */
+    public GameController(SudokuGeometry geometry) {
+        this.geometry = geometry;
+        this.session = new GameSession(geometry);
+        this.session.setHintExecutor(SolverExecutor.workers());
+        this.workerSolutions = ThreadLocal.withInitial(() -> new SolutionSet(geometry));
+        this.savePath = GameSnapshot.defaultPath(geometry);
+        this.shownStates = new PseudoClass[geometry.getCellCount()];
+    }
+
     /**
-     * Initializes the game controller by generating a new Sudoku puzzle, building the grid of text fields,
-     * configuring their formatting and behavior, applying animations, and setting up the win condition listener.
+     * Initializes the game controller by resuming the saved game, or else starting a new one as
+     * {@link #startNewGame()} does, from the installed {@link PuzzleBank} or from the {@link PuzzlePool} when there is
+     * no bank for the geometry; a resumed game still starts the pool, so the next game is ready when this one is won.
+     * It builds the grid of text fields, configuring their formatting and behavior, applying animations, and setting up
+     * the win condition listener and the keyboard shortcuts.
      *
      */
     @FXML
     public void initialize() {
-        sudoku.generateSolvedBoard();
-        sudoku.removeCellsToCreatePuzzle();
-        sudoku.printBoard(sudoku.getSolvedSudoku());
+        boolean resumed = resumeSavedGame();
+        if (resumed && PuzzleBank.forGeometry(geometry).isEmpty()) {
+            session.getPuzzlePool();
+        }
 
-        for (int row = 0; row < 6; row++) {
+        int size = geometry.getSize();
+        if (size > 9) {
+            sudokuGrid.getStyleClass().add("sudoku-grid-large");
+        } else if (size > 6) {
+            sudokuGrid.getStyleClass().add("sudoku-grid-medium");
+        }
+        for (int row = 0; row < size; row++) {
             ArrayList<TextField> rowList = new ArrayList<>();
 
-            for (int col = 0; col < 6; col++) {
+            for (int col = 0; col < size; col++) {
                 TextField cell = new TextField();
                 cell.setPrefSize(60, 60);
                 cell.getStyleClass().add("sudoku-cell");
@@ -80,38 +174,104 @@ public class GameController {
         setTextFieldsBehaviour();
         Animation.opacityPulse(sudokuGrid, 1.5, 0.7, 1);
         listenToWin();
+        if (resumed) {
+            informationLabel.setText("Partida guardada recuperada");
+            showChangedCells(true);
+            prefetchDigits();
+        } else {
+            startNewGame();
+        }
+        sudokuGrid.sceneProperty().addListener((observable, oldScene, scene) -> {
+            if (scene != null) {
+                scene.addEventFilter(KeyEvent.KEY_PRESSED, this::handleShortcut);
+                scene.windowProperty().addListener((windowObservable, oldWindow, window) -> {
+                    if (window != null) {
+                        window.addEventHandler(WindowEvent.WINDOW_HIDING, event -> saveGame());
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Restores the game saved for this size of board, if there is one. A save that can not be read is reported and
+     * ignored.
+     *
+     * @return {@code true} if a game was resumed.
+     */
+    private boolean resumeSavedGame() {
+        try {
+            return GameSnapshot.read(session, savePath);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Saves the game for later when it is not finished, and deletes the save when it is.
+     */
+    private void saveGame() {
+        if (generating) {
+            return;
+        }
+        try {
+            if (session.isWon()) {
+                Files.deleteIfExists(savePath);
+            } else {
+                GameSnapshot.write(session, savePath);
+            }
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the undo and redo shortcuts before the focused text field sees them, since a text field would otherwise
+     * take Ctrl+Z as an undo of its own text.
+     *
+     * @param event the key press.
+     */
+    private void handleShortcut(KeyEvent event) {
+        int cell;
+        if (UNDO.match(event)) {
+            cell = session.undo();
+        } else if (REDO.match(event) || REDO_SHIFT.match(event)) {
+            cell = session.redo();
+        } else {
+            return;
+        }
+        event.consume();
+        if (cell >= 0) {
+            informationLabel.setText("");
+            showChangedCells(true);
+        }
     }
 
     /**
      * Configures the formatting of all text fields within the Sudoku grid.
      * <p>
-     * This method assigns the grid coordinates to each text field, sets initial text values based on the playable board,
-     * adjusts editability and style for pre-filled cells, and applies margin insets for block borders.
-     * It also restricts user input to numbers between 1 and 6.
+     * This method assigns the grid coordinates to each text field, binds the fields to the puzzle, and applies margin
+     * insets for block borders. It also restricts user input to numbers between 1 and the size of the board.
      * </p>
      */
     private void setTextFieldsFormat() {
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 6; col++) {
+        int blockRows = geometry.getBlockRows();
+        int blockCols = geometry.getBlockCols();
+        bindTextFields();
+        for (int row = 0; row < geometry.getSize(); row++) {
+            for (int col = 0; col < geometry.getSize(); col++) {
                 TextField cell = textFields.get(row).get(col);
-                cell.setUserData(new int[]{row, col, 0});
-                cell.setText(String.valueOf(sudoku.getPlayableSudoku().get(row).get(col)));
-                if (cell.getText().equals("0")) {
-                    cell.setText(null);
-                } else {
-                    cell.setEditable(false);
-                    cell.setStyle("-fx-border-color: #919191; -fx-text-fill: #919191;");
-                }
+                cell.setUserData(new int[]{row, col});
                 Insets margin = new Insets(
-                        (row % 2 == 0) ? 3 : 0,
-                        (col % 3 == 2) ? 3 : 0,
-                        (row % 2 == 1) ? 3 : 0,
-                        (col % 3 == 0) ? 4 : 0
+                        (row % blockRows == 0) ? 3 : 0,
+                        (col % blockCols == blockCols - 1) ? 3 : 0,
+                        (row % blockRows == blockRows - 1) ? 3 : 0,
+                        (col % blockCols == 0) ? 4 : 0
                 );
                 sudokuGrid.setMargin(cell, margin);
                 cell.setTextFormatter(new TextFormatter<>(change -> {
-                    String newText = change.getControlNewText();
-                    if (newText.matches("[1-6]?")) {
+                    if (isAllowedInput(change.getControlNewText())) {
                         return change;
                     } else {
                         return null;
@@ -121,81 +281,309 @@ public class GameController {
         }
     }
 
+    /**
+     * Shows the puzzle of the session in the text fields: the clues are written and locked, and the other cells are
+     * emptied, made editable and stripped of any state left by a previous game.
+     */
+    private void bindTextFields() {
+        updating = true;
+        for (int row = 0; row < geometry.getSize(); row++) {
+            for (int col = 0; col < geometry.getSize(); col++) {
+                TextField cell = textFields.get(row).get(col);
+                if (session.getState(row, col) != CellState.GIVEN) {
+                    cell.setText(null);
+                    cell.setEditable(true);
+                    showState(row, col, null);
+                } else {
+                    cell.setText(String.valueOf(session.getValue(row, col)));
+                    cell.setEditable(false);
+                    showState(row, col, GIVEN);
+                }
+            }
+        }
+        updating = false;
+    }
+
+    /**
+     * Starts a new game in the same window.
+     * <p>
+     * The stage, the scene, the text fields and their listeners are all kept: the session draws a new puzzle, the fields
+     * are bound to it, and the labels and the help button go back to how they were at the start. The opacity pulse of
+     * the grid keeps running, so no animation is started twice.
+     * </p>
+     * <p>
+     * When the puzzle has to be generated, the grid and the help button are disabled and a message is shown until the
+     * puzzle arrives from the {@link SolverExecutor}. If the generation fails, the grid stays disabled and the help
+     * button offers to try again.
+     * </p>
+     */
+    private void startNewGame() {
+        solverExecutor.cancelAll();
+        if (session.tryNewGame()) {
+            showNewGame();
+            return;
+        }
+        generating = true;
+        sudokuGrid.setDisable(true);
+        helpButton.setDisable(true);
+        informationLabel.setText("Generando sudoku...");
+        resolvabilityInformationLabel.setText("");
+        PuzzlePool pool = session.getPuzzlePool();
+        solverExecutor.submit(GENERATION, pool::generate, puzzle -> {
+            session.newGame(puzzle);
+            showNewGame();
+        }, failure -> {
+            helpButton.setDisable(false);
+            helpButton.setText("Reintentar");
+            informationLabel.setText("No se pudo generar el sudoku");
+        });
+    }
+
+    /**
+     * Binds the text fields to the game the session just started, enables the grid and the help button again, whether
+     * the game comes after a generation, a failed one or none, and resets the labels and the help button.
+     */
+    private void showNewGame() {
+        generating = false;
+        sudokuGrid.setDisable(false);
+        helpButton.setDisable(false);
+        bindTextFields();
+        gameWon.set(false);
+        informationLabel.setText("");
+        resolvabilityInformationLabel.setText("");
+        showWon(false);
+        helpButton.setText("Pista");
+        prefetchDigits();
+    }
+
+    /**
+     * Searches in the background the digits the next hint needs, if they are not known, so that the hint is ready by
+     * the time the player asks for it.
+     */
+    private void prefetchDigits() {
+        if (!session.isHintReady()) {
+            SolvabilityCheck check = session.prepareCheck();
+            solverExecutor.submit(HINT, () -> runCheck(check), session::applyCheck);
+        }
+    }
+
+    /**
+     * Checks whether a text is empty or a number between 1 and the size of the board.
+     *
+     * @param text the text the cell would hold after the change.
+     * @return {@code true} if the text is accepted.
+     */
+    private boolean isAllowedInput(String text) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        if (text.length() > 2 || text.charAt(0) == '0') {
+            return false;
+        }
+        int value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= geometry.getSize();
+    }
+
     /**
      * Configures the behavior of all text fields in response to user input.
      * <p>
-     * This method sets up listeners for text property changes. It validates user input, updates the information labels,
-     * and adjusts cell styling based on the validity of the input or solvability of the puzzle.
+     * Every edit is forwarded to the {@link GameSession}, and the information labels and the style of the cell are
+     * updated from its answer. When the session leaves the cell pending because the solvability of the board is not
+     * known, the search runs on the {@link SolverExecutor} and the cell is styled once it finishes, so typing never
+     * waits for the solver.
      * </p>
      */
     private void setTextFieldsBehaviour() {
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 6; col++) {
+        for (int row = 0; row < geometry.getSize(); row++) {
+            for (int col = 0; col < geometry.getSize(); col++) {
                 TextField cell = textFields.get(row).get(col);
                 int[] position = (int[]) cell.getUserData();
                 int tfRow = position[0];
                 int tfCol = position[1];
 
+                int cellKey = tfRow * geometry.getSize() + tfCol;
+
                 cell.textProperty().addListener((obs, oldValue, newValue) -> {
+                    if (updating) {
+                        return;
+                    }
+                    long start = Metrics.start();
                     if (!cell.getText().isEmpty()) {
-                        boolean validNumber = sudoku.isValid(tfRow, tfCol, Integer.parseInt(newValue), sudoku.getPlayableSudoku());
-                        informationLabel.setText(sudoku.getStatus());
-                        sudoku.getPlayableSudoku().get(tfRow).set(tfCol, Integer.parseInt(newValue));
-                        int[] coordinates = (int[]) cell.getUserData();
-                        missplacedPositions.remove(coordinates);
-
-                        if (validNumber) {
-                            sudoku.getAuxiliarSudoku().clear();
-                            for (List<Integer> rowOnPlayable : sudoku.getPlayableSudoku()) {
-                                sudoku.getAuxiliarSudoku().add(new ArrayList<>(rowOnPlayable));
-                            }
-                            boolean isSolvable = sudoku.isSolvable(0, 0);
-                            resolvabilityInformationLabel.setText(sudoku.getResolvabilityStatus());
-
-                            if (!isSolvable) {
-                                coordinates[2] = 2;
-                                cell.setStyle("-fx-border-color: rgba(182,0,0,0.65);");
-                                cell.setStyle(cell.getStyle() + "-fx-background-color: #770707;");
-                            } else {
-                                coordinates[2] = 0;
-                                cell.setStyle("-fx-border-color: rgba(169,255,0,0.64);");
-                                cell.setStyle(cell.getStyle() + "-fx-background-color: transparent;");
-                                if (sudoku.isSolved()) {
-                                    gameWon.set(true);
-                                }
-                            }
-                        } else {
-                            coordinates[2] = 1;
-                            cell.setStyle("-fx-border-color: rgba(182,0,0,0.65);");
-                        }
-
-                        if (coordinates[2] != 0) {
-                            missplacedPositions.add(coordinates);
-                        }
+                        int number = Integer.parseInt(newValue);
+                        int conflict = session.enter(tfRow, tfCol, number);
+                        informationLabel.setText(ConflictMessages.describe(conflict, number));
+                        showChangedCells(true);
                     } else {
-                        sudoku.getPlayableSudoku().get(tfRow).set(tfCol, 0);
-                        cell.setStyle("-fx-border-color: white; -fx-background-color: transparent;");
-                        int[] coordinates = (int[]) cell.getUserData();
-                        missplacedPositions.remove(coordinates);
-                        coordinates[2] = 0;
+                        solverExecutor.cancel(cellKey);
+                        session.clear(tfRow, tfCol);
+                        showChangedCells(false);
                         if (!resolvabilityInformationLabel.getText().isEmpty()) {
-                            if (sudoku.isSolvable(0, 0))
-                                resolvabilityInformationLabel.setText(sudoku.getResolvabilityStatus());
+                            if (session.isSolvabilityKnown()) {
+                                if (session.isSolvable())
+                                    resolvabilityInformationLabel.setText(session.getResolvabilityStatus());
+                            } else {
+                                SolvabilityCheck check = session.prepareCheck();
+                                solverExecutor.submit(cellKey, () -> runCheck(check), finished -> {
+                                    if (session.applyCheck(finished) && finished.isSolvable())
+                                        resolvabilityInformationLabel.setText(session.getResolvabilityStatus());
+                                }, this::showCheckFailure);
+                            }
                         }
                         if (!informationLabel.getText().isEmpty()) {
                             informationLabel.setText("");
                         }
                     }
+                    Metrics.stop(Operation.KEYSTROKE, start);
                 });
             }
         }
     }
 
+    /**
+     * Runs a solvability check on the calling worker thread with that thread's own {@link SolutionSet}, so that the
+     * digits of every solution are known for the next hint by the time the cell is colored.
+     *
+     * @param check the check to run.
+     * @return the same check, once run.
+     */
+    private SolvabilityCheck runCheck(SolvabilityCheck check) {
+        check.run(workerSolutions.get());
+        return check;
+    }
+
+    /**
+     * Tells the player that a background solvability search failed. The cell keeps its look and is checked again with
+     * the next edit.
+     *
+     * @param failure the exception thrown by the search.
+     */
+    private void showCheckFailure(Exception failure) {
+        resolvabilityInformationLabel.setText("No se pudo comprobar si el sudoku tiene solución");
+    }
+
+    /**
+     * Shows every cell whose state changed in the last session call: the edited cell, and the cells that started or
+     * stopped repeating a number because of it. The text of a cell is only rewritten when the session changed its
+     * number, as hints, undo and redo do.
+     * <p>
+     * The whole edit is shown in one pass: each changed cell flips its pseudo-class, and then, if any cell was settled
+     * and the solvability answer refers to the current board, the resolvability label is refreshed and the win
+     * condition is checked once. An answer that arrives after later edits elsewhere only affects its own cells.
+     * </p>
+     *
+     * @param current whether a solvability answer for the cells still describes the current board.
+     */
+    private void showChangedCells(boolean current) {
+        long start = Metrics.start();
+        int size = geometry.getSize();
+        boolean settled = false;
+        for (int cell = session.nextChanged(0); cell >= 0; cell = session.nextChanged(cell + 1)) {
+            int row = cell / size;
+            int col = cell % size;
+            int value = session.getValue(row, col);
+            String text = value == 0 ? "" : Integer.toString(value);
+            TextField field = textFields.get(row).get(col);
+            if (!text.equals(field.getText())) {
+                updating = true;
+                field.setText(text);
+                updating = false;
+            }
+            settled |= showCell(row, col);
+        }
+        if (current && settled) {
+            resolvabilityInformationLabel.setText(session.getResolvabilityStatus());
+            if (session.isWon()) {
+                gameWon.set(true);
+            }
+        }
+        Metrics.stop(Operation.RESTYLE, start);
+    }
+
+    /**
+     * Shows the state of a cell after an edit.
+     * <p>
+     * A pending cell keeps its look while its solvability search runs in the background, and is shown again when the
+     * search finishes.
+     * </p>
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return {@code true} if the solvability of the cell is settled, so the labels may need refreshing.
+     */
+    private boolean showCell(int row, int col) {
+        int cellKey = row * geometry.getSize() + col;
+        switch (session.getState(row, col)) {
+            case PENDING:
+                SolvabilityCheck check = session.prepareCheck();
+                solverExecutor.submit(cellKey, () -> runCheck(check), finished ->
+                        showChangedCells(session.applyCheck(row, col, finished)), this::showCheckFailure);
+                return false;
+            case CONFLICT:
+                solverExecutor.cancel(cellKey);
+                showState(row, col, CONFLICT);
+                return false;
+            case EMPTY:
+                solverExecutor.cancel(cellKey);
+                showState(row, col, null);
+                return false;
+            case UNSOLVABLE:
+                solverExecutor.cancel(cellKey);
+                showState(row, col, UNSOLVABLE);
+                return true;
+            case HINTED:
+                solverExecutor.cancel(cellKey);
+                showState(row, col, HINTED);
+                return true;
+            default:
+                solverExecutor.cancel(cellKey);
+                showState(row, col, VALID);
+                return true;
+        }
+    }
+
+    /**
+     * Replaces the state pseudo-class of a cell, touching the cell only when it changes.
+     *
+     * @param state the pseudo-class to show, or {@code null} for a plain empty cell.
+     */
+    private void showState(int row, int col, PseudoClass state) {
+        int index = row * geometry.getSize() + col;
+        PseudoClass shown = shownStates[index];
+        if (shown == state) {
+            return;
+        }
+        TextField cell = textFields.get(row).get(col);
+        if (shown != null) {
+            cell.pseudoClassStateChanged(shown, false);
+        }
+        if (state != null) {
+            cell.pseudoClassStateChanged(state, true);
+        }
+        shownStates[index] = state;
+    }
+
+    /**
+     * Turns the look of a won game on or off: the grid and the labels change through their {@code won} pseudo-class,
+     * whatever the number of cells.
+     */
+    private void showWon(boolean won) {
+        sudokuGrid.pseudoClassStateChanged(WON, won);
+        informationLabel.pseudoClassStateChanged(WON, won);
+        resolvabilityInformationLabel.pseudoClassStateChanged(WON, won);
+    }
+
     /**
      * Listens for the win condition and triggers the win sequence when the game is solved.
      * <p>
-     * Once the win condition is met, all text fields are set to non-editable and styled accordingly, and the information labels
-     * and help button text are updated to indicate success.
+     * Once the win condition is met, all text fields are set to non-editable, the grid and the labels switch to their
+     * {@code won} look, and the information labels and help button text are updated to indicate success.
      * </p>
      *
      * @author Sebastian Calvo
@@ -204,18 +592,16 @@ public class GameController {
     private void listenToWin() {
         gameWon.addListener((observable, oldValue, newValue) -> {
             if (newValue) {
-                for (int row = 0; row < sudoku.getSize(); row++) {
-                    for (int col = 0; col < sudoku.getSize(); col++) {
-                        TextField cell = textFields.get(row).get(col);
-                        cell.setEditable(false);
-                        cell.setStyle(cell.getStyle() + "-fx-border-color: rgba(200,0,255,0.64); -fx-background-color: transparent; -fx-text-fill: white;");
+                for (int row = 0; row < session.getSize(); row++) {
+                    for (int col = 0; col < session.getSize(); col++) {
+                        textFields.get(row).get(col).setEditable(false);
                     }
                 }
+                showWon(true);
                 informationLabel.setText("Sudoku resuelto!");
-                informationLabel.setStyle(informationLabel.getStyle() + "-fx-text-fill: #8cff00;");
                 resolvabilityInformationLabel.setText("Bien hecho!");
-                resolvabilityInformationLabel.setStyle(resolvabilityInformationLabel.getStyle() + "-fx-text-fill: #8cff00;");
                 helpButton.setText("Volver a jugar");
+                saveGame();
             }
         });
     }
@@ -223,8 +609,14 @@ public class GameController {
     /**
      * Handles the action when the help button is pressed.
      * <p>
-     * If the game is not yet won, this method provides a hint by filling in a cell from the solution. If no hint can be provided,
-     * it displays an informational alert. If the game is already won, it resets the game by closing the current stage and loading a new one.
+     * If the game is not yet won, this method asks the session for a hint, fills in the hinted cell and names the technique
+     * that deduces it. If no hint can be provided,
+     * it displays an informational alert. If the game is already won, or its puzzle could not be generated, it starts a
+     * new game in the same window.
+     * </p>
+     * <p>
+     * When the hint would need a search, the button is disabled while a check runs on the {@link SolverExecutor}, and
+     * the hint is given when it finishes, unless the board was edited in the meantime.
      * </p>
      *
      * @author Sebastian Calvo
@@ -232,47 +624,44 @@ public class GameController {
      */
     @FXML
     private void handleHelp() {
-        if (!gameWon.getValue()) {
-            if (missplacedPositions.size() > 0) {
-                int[] coordinate = missplacedPositions.poll();
-                int row = coordinate[0];
-                int col = coordinate[1];
-                textFields.get(row).get(col).setText(Integer.toString(sudoku.getSolvedSudoku().get(row).get(col)));
-                textFields.get(row).get(col).setStyle("-fx-border-color: rgba(255,255,0,0.66); -fx-background-color: transparent;");
-                missplacedPositions.remove(coordinate);
-                return;
-            } else {
-                for (int row = 0; row < sudoku.getSize(); row++) {
-                    for (int col = 0; col < sudoku.getSize(); col++) {
-                        if (sudoku.getPlayableSudoku().get(row).get(col) == 0) {
-                            textFields.get(row).get(col).setText(String.valueOf(sudoku.getSolvedSudoku().get(row).get(col)));
-                            textFields.get(row).get(col).setStyle("-fx-border-color: rgba(255,255,0,0.66);");
-                            return;
-                        }
-                    }
-                }
-            }
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Sudoku");
-            alert.setHeaderText(null);
-            alert.setContentText("No hay espacios vacíos para poder mostrar una ayuda.");
-            alert.showAndWait();
+        if (gameWon.getValue() || sudokuGrid.isDisabled()) {
+            startNewGame();
+        } else if (session.isHintReady()) {
+            showHint();
         } else {
-            try {
-                Stage stage = (Stage) helpButton.getScene().getWindow();
-                stage.close();
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/sudoku/game.fxml"));
-                Parent root = loader.load();
-                Scene scene = new Scene(root, 600, 600);
-                scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/com/example/sudoku/game.css")).toExternalForm());
-                Stage gameStage = new Stage();
-                gameStage.setTitle("Mini-proyecto 2");
-                gameStage.getIcons().add(new Image(Objects.requireNonNull(getClass().getResourceAsStream("/com/example/sudoku/images/favicon.png"))));
-                gameStage.setScene(scene);
-                gameStage.show();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            SolvabilityCheck check = session.prepareCheck();
+            helpButton.setDisable(true);
+            informationLabel.setText("Buscando pista...");
+            solverExecutor.submit(HINT, () -> runCheck(check), finished -> {
+                helpButton.setDisable(false);
+                informationLabel.setText("");
+                session.applyCheck(finished);
+                if (session.isHintReady()) {
+                    showHint();
+                }
+            }, failure -> {
+                helpButton.setDisable(false);
+                informationLabel.setText("");
+                showCheckFailure(failure);
+            });
+        }
+    }
+
+    /**
+     * Fills the hinted cell and names the technique that deduces it, or tells the player that no hint can be given.
+     */
+    private void showHint() {
+        int hinted = session.hint();
+        if (hinted >= 0) {
+            Hint hint = session.getLastHint();
+            informationLabel.setText(hint == null ? "" : "Pista: " + hint.getTechnique().getLabel());
+            showChangedCells(true);
+            return;
         }
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Sudoku");
+        alert.setHeaderText(null);
+        alert.setContentText("No hay espacios vacíos para poder mostrar una ayuda.");
+        alert.showAndWait();
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.example.sudoku.controller;
+
+import javafx.application.Platform;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * The {@code SolverExecutor} class runs solver work off the JavaFX Application Thread.
+ * <p>
+ * Tasks run on a small pool of daemon threads shared by every game, and their results are posted back with
+ * {@link Platform#runLater(Runnable)}. Each task is submitted under a key, usually the index of the edited cell:
+ * submitting again under the same key cancels the previous task, which is then either never started or, if it was
+ * already running, has its result dropped. A task that throws is logged and taken off the pending tasks, and its
+ * failure callback, if any, runs on the JavaFX Application Thread instead of the result callback. Apart from the worker
+ * threads themselves, the instance must only be used from the JavaFX Application Thread.
+ * </p>
+ */
+class SolverExecutor {
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)), runnable -> {
+                Thread thread = new Thread(runnable, "sudoku-solver");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Map<Integer, Job<?>> pending = new HashMap<>();
+
+    /**
+     * Returns the shared worker threads, for background work whose result is not posted back to the JavaFX Application
+     * Thread.
+     *
+     * @return the worker pool.
+     */
+    static Executor workers() {
+        return WORKERS;
+    }
+
+    /**
+     * Runs a task in the background and hands its result to a callback on the JavaFX Application Thread.
+     *
+     * @param key the key of the task; a pending task with the same key is cancelled.
+     * @param task the work to run on a worker thread.
+     * @param onResult the callback that receives the result, unless the task is cancelled first.
+     * @param <T> the type of the result.
+     */
+    <T> void submit(int key, Callable<T> task, Consumer<T> onResult) {
+        submit(key, task, onResult, failure -> { });
+    }
+
+    /**
+     * Runs a task in the background and hands its result, or the exception it threw, to a callback on the JavaFX
+     * Application Thread.
+     *
+     * @param key the key of the task; a pending task with the same key is cancelled.
+     * @param task the work to run on a worker thread.
+     * @param onResult the callback that receives the result, unless the task is cancelled first.
+     * @param onFailure the callback that receives the exception if the task throws, unless it is cancelled first.
+     * @param <T> the type of the result.
+     */
+    <T> void submit(int key, Callable<T> task, Consumer<T> onResult, Consumer<Exception> onFailure) {
+        cancel(key);
+        Job<T> job = new Job<>(key, task, onResult, onFailure);
+        pending.put(key, job);
+        job.future = WORKERS.submit(job);
+    }
+
+    /**
+     * Cancels the pending task with the given key, if any.
+     *
+     * @param key the key of the task.
+     */
+    void cancel(int key) {
+        Job<?> job = pending.remove(key);
+        if (job != null) {
+            job.cancelled = true;
+            job.future.cancel(false);
+        }
+    }
+
+    /**
+     * Cancels every pending task.
+     */
+    void cancelAll() {
+        for (Job<?> job : pending.values()) {
+            job.cancelled = true;
+            job.future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private <T> void deliver(Job<T> job, T result) {
+        if (!job.cancelled && pending.get(job.key) == job) {
+            pending.remove(job.key);
+            job.onResult.accept(result);
+        }
+    }
+
+    private void fail(Job<?> job, Exception failure) {
+        if (!job.cancelled && pending.get(job.key) == job) {
+            pending.remove(job.key);
+            job.onFailure.accept(failure);
+        }
+    }
+
+    private final class Job<T> implements Runnable {
+        private final int key;
+        private final Callable<T> task;
+        private final Consumer<T> onResult;
+        private final Consumer<Exception> onFailure;
+        private volatile boolean cancelled;
+        private Future<?> future;
+
+        private Job(int key, Callable<T> task, Consumer<T> onResult, Consumer<Exception> onFailure) {
+            this.key = key;
+            this.task = task;
+            this.onResult = onResult;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                T result = task.call();
+                Platform.runLater(() -> deliver(this, result));
+            } catch (Exception e) {
+                e.printStackTrace();
+                Platform.runLater(() -> fail(this, e));
+            }
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.example.sudoku.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The {@code Board} class is the primitive grid behind {@link Sudoku}.
+ * <p>
+ * Cells are stored row-major in a flat {@code byte[]}, where {@code 0} means an empty cell. For every row, column and
+ * block the board also keeps a bitmask of the digits placed in it (bit {@code d} set means digit {@code d} is present)
+ * together with a per-digit counter, so that a unit can temporarily hold the same digit twice while the player is
+ * editing. Masks and counters are updated incrementally by {@link #place(int, int, int)} and {@link #clear(int, int)},
+ * which turns every validity check into a constant-time bit test with no boxing and no allocation.
+ * </p>
+ * <p>
+ * The same updates keep the number of filled cells, the number of repeated digits over all the units, and the set of
+ * cells that repeat a digit of one of their units. {@link #isSolved()} and {@link #hasConflicts()} are therefore
+ * constant-time, and the conflicting cells can be listed without scanning the grid. The set only needs to be touched
+ * when a counter crosses between one and two, which never happens while a solver fills a board with valid digits.
+ * </p>
+ */
+public class Board {
+    private final SudokuGeometry geometry;
+    private final int size;
+    private final byte[] cells;
+    private final byte[] blockOfCell;
+    private final int[] rowMasks;
+    private final int[] colMasks;
+    private final int[] blockMasks;
+    private final byte[] rowCounts;
+    private final byte[] colCounts;
+    private final byte[] blockCounts;
+    private final int allDigits;
+    private final int[][] units;
+    private final BitSet conflicting;
+    private int filled;
+    private int repeats;
+    private List<List<Integer>> rowsView;
+
+    /**
+     * Constructs an empty board.
+     *
+     * @param geometry the shape of the board.
+     */
+    public Board(SudokuGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cells = new byte[size * size];
+        this.blockOfCell = new byte[size * size];
+        this.rowMasks = new int[size];
+        this.colMasks = new int[size];
+        this.blockMasks = new int[size];
+        this.rowCounts = new byte[size * (size + 1)];
+        this.colCounts = new byte[size * (size + 1)];
+        this.blockCounts = new byte[size * (size + 1)];
+        this.allDigits = ((1 << size) - 1) << 1;
+        this.units = geometry.getUnits();
+        this.conflicting = new BitSet(size * size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                blockOfCell[row * size + col] = (byte) geometry.blockIndex(row, col);
+            }
+        }
+    }
+
+    /**
+     * Places a digit in a cell, replacing whatever the cell held before. A digit of {@code 0} clears the cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param digit the digit to place, from {@code 1} to {@code size}, or {@code 0} to clear.
+     */
+    public void place(int row, int col, int digit) {
+        int index = row * size + col;
+        int previous = cells[index];
+        if (previous == digit) {
+            return;
+        }
+        if (previous != 0) {
+            remove(index, row, col, previous);
+        }
+        if (digit != 0) {
+            add(index, row, col, digit);
+        }
+    }
+
+    /**
+     * Empties a cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     */
+    public void clear(int row, int col) {
+        place(row, col, 0);
+    }
+
+    private void add(int index, int row, int col, int digit) {
+        int block = blockOfCell[index];
+        int bit = 1 << digit;
+        cells[index] = (byte) digit;
+        filled++;
+        int inRow = ++rowCounts[row * (size + 1) + digit];
+        int inCol = ++colCounts[col * (size + 1) + digit];
+        int inBlock = ++blockCounts[block * (size + 1) + digit];
+        rowMasks[row] |= bit;
+        colMasks[col] |= bit;
+        blockMasks[block] |= bit;
+        if (inRow > 1 || inCol > 1 || inBlock > 1) {
+            conflicting.set(index);
+            repeats += (inRow > 1 ? 1 : 0) + (inCol > 1 ? 1 : 0) + (inBlock > 1 ? 1 : 0);
+            refreshConflicts(inRow, units[row], digit);
+            refreshConflicts(inCol, units[size + col], digit);
+            refreshConflicts(inBlock, units[2 * size + block], digit);
+        }
+    }
+
+    private void remove(int index, int row, int col, int digit) {
+        int block = blockOfCell[index];
+        int bit = 1 << digit;
+        cells[index] = 0;
+        filled--;
+        int inRow = rowCounts[row * (size + 1) + digit]--;
+        int inCol = colCounts[col * (size + 1) + digit]--;
+        int inBlock = blockCounts[block * (size + 1) + digit]--;
+        if (inRow == 1) {
+            rowMasks[row] &= ~bit;
+        }
+        if (inCol == 1) {
+            colMasks[col] &= ~bit;
+        }
+        if (inBlock == 1) {
+            blockMasks[block] &= ~bit;
+        }
+        if (inRow > 1 || inCol > 1 || inBlock > 1) {
+            conflicting.clear(index);
+            repeats -= (inRow > 1 ? 1 : 0) + (inCol > 1 ? 1 : 0) + (inBlock > 1 ? 1 : 0);
+            refreshConflicts(inRow, units[row], digit);
+            refreshConflicts(inCol, units[size + col], digit);
+            refreshConflicts(inBlock, units[2 * size + block], digit);
+        }
+    }
+
+    /**
+     * Updates the conflicting cells of a unit after the count of a digit in it moved between one and two, the only
+     * changes that can turn another cell of the unit in or out of conflict.
+     *
+     * @param pair the larger of the counts before and after the change.
+     */
+    private void refreshConflicts(int pair, int[] unit, int digit) {
+        if (pair != 2) {
+            return;
+        }
+        for (int cell : unit) {
+            if (cells[cell] == digit) {
+                conflicting.set(cell, isConflicting(cell));
+            }
+        }
+    }
+
+    /**
+     * Returns the digit stored in a cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the digit, or {@code 0} if the cell is empty.
+     */
+    public int get(int row, int col) {
+        return cells[row * size + col];
+    }
+
+    /**
+     * Returns the digit stored in a cell given by its row-major index.
+     *
+     * @param index the index of the cell, {@code row * size + col}.
+     * @return the digit, or {@code 0} if the cell is empty.
+     */
+    public int get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Checks whether a digit can be placed in an empty cell without repeating it in the row, column or block.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param digit the digit to test.
+     * @return {@code true} if the digit is absent from the three units of the cell.
+     */
+    public boolean canPlace(int row, int col, int digit) {
+        int used = rowMasks[row] | colMasks[col] | blockMasks[blockOfCell[row * size + col]];
+        return (used & (1 << digit)) == 0;
+    }
+
+    /**
+     * Returns the bitmask of digits that can still be placed in a cell, ignoring the cell's own content.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a mask where bit {@code d} is set when digit {@code d} is a candidate.
+     */
+    public int candidates(int row, int col) {
+        int used = rowMasks[row] | colMasks[col] | blockMasks[blockOfCell[row * size + col]];
+        return ~used & allDigits;
+    }
+
+    /**
+     * Returns the bitmask of candidates of a cell given by its row-major index.
+     *
+     * @param index the index of the cell, {@code row * size + col}.
+     * @return a mask where bit {@code d} is set when digit {@code d} is a candidate.
+     */
+    public int candidates(int index) {
+        int used = rowMasks[index / size] | colMasks[index % size] | blockMasks[blockOfCell[index]];
+        return ~used & allDigits;
+    }
+
+    /**
+     * Counts how many times a digit appears in a row, optionally leaving one cell out of the count.
+     *
+     * @param row the row to inspect.
+     * @param digit the digit to count.
+     * @param skipCol a column whose content is ignored, or {@code -1}.
+     * @return the number of occurrences.
+     */
+    public int countInRow(int row, int digit, int skipCol) {
+        int count = rowCounts[row * (size + 1) + digit];
+        return (skipCol >= 0 && cells[row * size + skipCol] == digit) ? count - 1 : count;
+    }
+
+    /**
+     * Counts how many times a digit appears in a column, optionally leaving one cell out of the count.
+     *
+     * @param col the column to inspect.
+     * @param digit the digit to count.
+     * @param skipRow a row whose content is ignored, or {@code -1}.
+     * @return the number of occurrences.
+     */
+    public int countInColumn(int col, int digit, int skipRow) {
+        int count = colCounts[col * (size + 1) + digit];
+        return (skipRow >= 0 && cells[skipRow * size + col] == digit) ? count - 1 : count;
+    }
+
+    /**
+     * Counts how many times a digit appears in the block of a cell, leaving that cell out of the count.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param digit the digit to count.
+     * @return the number of occurrences in the other cells of the block.
+     */
+    public int countInBlock(int row, int col, int digit) {
+        int index = row * size + col;
+        int count = blockCounts[blockOfCell[index] * (size + 1) + digit];
+        return cells[index] == digit ? count - 1 : count;
+    }
+
+    /**
+     * Checks whether the cell at a row-major index holds a digit that also appears elsewhere in its row, column or
+     * block.
+     *
+     * @param index the index of the cell, {@code row * size + col}.
+     * @return {@code true} if the cell is filled and repeats a digit of one of its units.
+     */
+    public boolean isConflicting(int index) {
+        int digit = cells[index];
+        if (digit == 0) {
+            return false;
+        }
+        return rowCounts[(index / size) * (size + 1) + digit] > 1
+                || colCounts[(index % size) * (size + 1) + digit] > 1
+                || blockCounts[blockOfCell[index] * (size + 1) + digit] > 1;
+    }
+
+    /**
+     * Checks whether some digit appears more than once in a row, column or block.
+     *
+     * @return {@code true} if the board breaks a Sudoku rule.
+     */
+    public boolean hasConflicts() {
+        return repeats > 0;
+    }
+
+    /**
+     * Checks whether every cell is filled and no digit repeats in a row, column or block.
+     *
+     * @return {@code true} if the board is a complete, valid grid.
+     */
+    public boolean isSolved() {
+        return filled == cells.length && repeats == 0;
+    }
+
+    /**
+     * Returns the number of filled cells.
+     *
+     * @return the count of non-empty cells.
+     */
+    public int getFilledCount() {
+        return filled;
+    }
+
+    /**
+     * Returns the number of cells that repeat a digit of their row, column or block.
+     *
+     * @return the size of the set of conflicting cells.
+     */
+    public int getConflictingCount() {
+        return conflicting.cardinality();
+    }
+
+    /**
+     * Returns the next cell that repeats a digit of its row, column or block, in row-major order.
+     * <p>
+     * The conflicting cells are listed with {@code for (int i = board.nextConflicting(0); i >= 0; i =
+     * board.nextConflicting(i + 1))}.
+     * </p>
+     *
+     * @param from the first index to consider.
+     * @return the index of the next conflicting cell, or {@code -1} if there is none.
+     */
+    public int nextConflicting(int from) {
+        return conflicting.nextSetBit(from);
+    }
+
+    /**
+     * Overwrites this board with the content of another board of the same dimensions.
+     *
+     * @param other the board to copy from.
+     */
+    public void copyFrom(Board other) {
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.rowMasks, 0, rowMasks, 0, size);
+        System.arraycopy(other.colMasks, 0, colMasks, 0, size);
+        System.arraycopy(other.blockMasks, 0, blockMasks, 0, size);
+        System.arraycopy(other.rowCounts, 0, rowCounts, 0, rowCounts.length);
+        System.arraycopy(other.colCounts, 0, colCounts, 0, colCounts.length);
+        System.arraycopy(other.blockCounts, 0, blockCounts, 0, blockCounts.length);
+        conflicting.clear();
+        conflicting.or(other.conflicting);
+        filled = other.filled;
+        repeats = other.repeats;
+    }
+
+    /**
+     * Empties every cell of the board.
+     */
+    public void reset() {
+        Arrays.fill(cells, (byte) 0);
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(colMasks, 0);
+        Arrays.fill(blockMasks, 0);
+        Arrays.fill(rowCounts, (byte) 0);
+        Arrays.fill(colCounts, (byte) 0);
+        Arrays.fill(blockCounts, (byte) 0);
+        conflicting.clear();
+        filled = 0;
+        repeats = 0;
+    }
+
+    /**
+     * Returns the number of rows, columns and digits of the board.
+     *
+     * @return the size of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the shape of the board.
+     *
+     * @return the geometry of the board.
+     */
+    public SudokuGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns a live, writable view of the board as a list of rows.
+     * <p>
+     * The view exists for callers that still work with nested lists; reading boxes every value and writing goes
+     * through {@link #place(int, int, int)}, so the masks stay consistent.
+     * </p>
+     *
+     * @return the rows of the board.
+     */
+    public List<List<Integer>> asRows() {
+        if (rowsView == null) {
+            rowsView = new AbstractList<>() {
+                @Override
+                public List<Integer> get(int row) {
+                    return new RowView(row);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return rowsView;
+    }
+
+    private class RowView extends AbstractList<Integer> {
+        private final int row;
+
+        RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Integer get(int col) {
+            return Board.this.get(row, col);
+        }
+
+        @Override
+        public Integer set(int col, Integer digit) {
+            int previous = Board.this.get(row, col);
+            place(row, col, digit);
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
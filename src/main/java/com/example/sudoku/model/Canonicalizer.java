@@ -0,0 +1,356 @@
+package com.example.sudoku.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code Canonicalizer} class reduces grids to a canonical form, so that grids that are the same puzzle up to the
+ * symmetries of the board get the same {@link PuzzleKey}.
+ * <p>
+ * The symmetries are the relabellings of the digits, the permutations of the rows inside each band and of the bands,
+ * the permutations of the columns inside each stack and of the stacks, and, when the blocks are square, the
+ * transposition. The canonical form is the smallest grid, read row by row with empty cells first, among all the
+ * transformed grids with their digits relabelled in order of first appearance. The rows are placed one at a time and a
+ * partial grid is dropped at the first row that compares greater than the same row of the best grid so far, so most of
+ * the group is never reached: at the next band, a row can only come from a band not used yet, and inside a band, only
+ * from the same band.
+ * </p>
+ * <p>
+ * The group is small for the 4x4 and 6x6 boards (128 and 3456 transformations), but it grows to millions of
+ * transformations from 9x9 upwards. For those geometries only the relabelling is applied, which still merges the
+ * grids that differ by a renaming of the digits and costs a single pass over the cells.
+ * </p>
+ * <p>
+ * After {@link #canonicalize(Board)}, the transformation that produced the canonical form can be applied to other
+ * grids of the same shape, such as a solution, with {@link #toCanonical(Board)} and {@link #fromCanonical(byte[], Board)}.
+ * A canonicalizer owns scratch state and must not be shared between threads.
+ * </p>
+ */
+public class Canonicalizer {
+    /**
+     * The largest number of row and column transformations searched; larger groups fall back to relabelling only.
+     */
+    static final int MAX_GROUP = 10_000;
+    private final int size;
+    private final int cellCount;
+    private final int blockRows;
+    private final boolean fullGroup;
+    private final int[][] colMaps;
+    private final boolean transposable;
+    private final int bitsPerCell;
+    private final int[][] labels;
+    private final int[] next;
+    private final int[] rowOrder;
+    private final boolean[] usedRows;
+    private final int[] current;
+    private final int[] best;
+    private final int[] bestRows;
+    private final int[] bestLabels;
+    private int[] colMap;
+    private boolean transposed;
+    private int bestCols;
+    private boolean bestTransposed;
+    private boolean empty;
+
+    /**
+     * Constructs a canonicalizer for grids of the given geometry.
+     *
+     * @param geometry the shape of the grids.
+     */
+    public Canonicalizer(SudokuGeometry geometry) {
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.blockRows = geometry.getBlockRows();
+        int blockCols = geometry.getBlockCols();
+        int[][] cols = lineMaps(size / blockCols, blockCols);
+        boolean square = blockRows == blockCols;
+        long rows = factorial(size / blockRows) * (long) Math.pow(factorial(blockRows), size / blockRows);
+        this.fullGroup = rows * cols.length * (square ? 2 : 1) <= MAX_GROUP;
+        this.colMaps = fullGroup ? cols : new int[][]{identity()};
+        this.transposable = fullGroup && square;
+        this.bitsPerCell = 32 - Integer.numberOfLeadingZeros(size);
+        this.labels = new int[size + 1][size + 1];
+        this.next = new int[size + 1];
+        this.rowOrder = new int[size];
+        this.usedRows = new boolean[size];
+        this.current = new int[cellCount];
+        this.best = new int[cellCount];
+        this.bestRows = new int[size];
+        this.bestLabels = new int[size + 1];
+    }
+
+    /**
+     * Returns the number of transformations of the group searched for every grid, relabellings aside.
+     *
+     * @return the size of the searched group, {@code 1} when only relabelling is applied.
+     */
+    public int getGroupSize() {
+        if (!fullGroup) {
+            return 1;
+        }
+        int rows = (int) (factorial(size / blockRows) * Math.pow(factorial(blockRows), size / blockRows));
+        return rows * colMaps.length * (transposable ? 2 : 1);
+    }
+
+    /**
+     * Computes the canonical form of a grid and remembers the transformation that produced it.
+     * <p>
+     * For every column transformation, the rows are chosen one at a time, depth first, and a branch is abandoned as
+     * soon as its rows compare greater than the same rows of the best grid found so far.
+     * </p>
+     *
+     * @param grid the grid; it is not modified.
+     * @return the key of the canonical form.
+     */
+    public PuzzleKey canonicalize(Board grid) {
+        empty = true;
+        for (int flip = 0; flip < (transposable ? 2 : 1); flip++) {
+            transposed = flip == 1;
+            for (int cols = 0; cols < colMaps.length; cols++) {
+                colMap = colMaps[cols];
+                Arrays.fill(labels[0], 0);
+                next[0] = 1;
+                if (chooseRow(grid, 0, empty ? -1 : 0)) {
+                    bestCols = cols;
+                    bestTransposed = transposed;
+                    empty = false;
+                }
+            }
+        }
+        completeLabels();
+        return key();
+    }
+
+    /**
+     * Applies the transformation found by the last {@link #canonicalize(Board)} call to another grid.
+     *
+     * @param grid a grid of the same geometry, typically the solution of the canonicalized one.
+     * @return the transformed and relabelled digits, row-major, with {@code 0} for empty cells.
+     */
+    public byte[] toCanonical(Board grid) {
+        byte[] canonical = new byte[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            canonical[cell] = (byte) bestLabels[grid.get(source(cell))];
+        }
+        return canonical;
+    }
+
+    /**
+     * Undoes the transformation found by the last {@link #canonicalize(Board)} call, writing the digits of a canonical
+     * grid into the empty cells of a board.
+     *
+     * @param canonical digits in canonical form, as returned by {@link #toCanonical(Board)}.
+     * @param target the board that receives the digits; its filled cells are left as they are.
+     */
+    public void fromCanonical(byte[] canonical, Board target) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            int index = source(cell);
+            if (canonical[cell] != 0 && target.get(index) == 0) {
+                target.place(index / size, index % size, digitOf(canonical[cell]));
+            }
+        }
+    }
+
+    /**
+     * Chooses the source row of a canonical row and recurses into the next one.
+     *
+     * @param depth the canonical row to fill.
+     * @param relation {@code -1} if the rows chosen so far are already smaller than those of the best grid, {@code 0}
+     *                 if they are equal.
+     * @return {@code true} if the best grid was replaced in this branch.
+     */
+    private boolean chooseRow(Board grid, int depth, int relation) {
+        if (depth == size) {
+            if (relation < 0) {
+                System.arraycopy(current, 0, best, 0, cellCount);
+                System.arraycopy(rowOrder, 0, bestRows, 0, size);
+                System.arraycopy(labels[depth], 0, bestLabels, 0, size + 1);
+                return true;
+            }
+            return false;
+        }
+        int from = 0;
+        int to = size;
+        if (!fullGroup) {
+            from = depth;
+            to = depth + 1;
+        } else if (depth % blockRows != 0) {
+            from = rowOrder[depth - 1] / blockRows * blockRows;
+            to = from + blockRows;
+        }
+        boolean improved = false;
+        int offset = depth * size;
+        for (int row = from; row < to; row++) {
+            if (usedRows[row]) {
+                continue;
+            }
+            int[] rowLabels = labels[depth + 1];
+            System.arraycopy(labels[depth], 0, rowLabels, 0, size + 1);
+            int label = next[depth];
+            int compared = relation;
+            for (int col = 0; col < size; col++) {
+                int source = colMap[col];
+                int digit = transposed ? grid.get(source * size + row) : grid.get(row * size + source);
+                if (digit != 0 && rowLabels[digit] == 0) {
+                    rowLabels[digit] = label++;
+                }
+                int value = rowLabels[digit];
+                if (compared == 0) {
+                    if (value > best[offset + col]) {
+                        compared = 1;
+                        break;
+                    }
+                    compared = value < best[offset + col] ? -1 : 0;
+                }
+                current[offset + col] = value;
+            }
+            if (compared > 0) {
+                continue;
+            }
+            next[depth + 1] = label;
+            rowOrder[depth] = row;
+            usedRows[row] = true;
+            if (chooseRow(grid, depth + 1, compared)) {
+                improved = true;
+                relation = 0;
+            }
+            usedRows[row] = false;
+        }
+        return improved;
+    }
+
+    /**
+     * Gives the digits that do not appear in the grid the remaining labels, so that relabelling is a bijection.
+     */
+    private void completeLabels() {
+        int used = 0;
+        for (int digit = 1; digit <= size; digit++) {
+            if (bestLabels[digit] != 0) {
+                used++;
+            }
+        }
+        int next = used + 1;
+        for (int digit = 1; digit <= size; digit++) {
+            if (bestLabels[digit] == 0) {
+                bestLabels[digit] = next++;
+            }
+        }
+    }
+
+    private int digitOf(int label) {
+        for (int digit = 1; digit <= size; digit++) {
+            if (bestLabels[digit] == label) {
+                return digit;
+            }
+        }
+        throw new IllegalArgumentException("Etiqueta inválida: " + label);
+    }
+
+    /**
+     * Returns the cell of the original grid that the best transformation moves to a canonical cell.
+     */
+    private int source(int cell) {
+        int row = bestRows[cell / size];
+        int col = colMaps[bestCols][cell % size];
+        return bestTransposed ? col * size + row : row * size + col;
+    }
+
+    private PuzzleKey key() {
+        if (cellCount * bitsPerCell <= 128) {
+            long high = 0;
+            long low = 0;
+            for (int cell = 0; cell < cellCount; cell++) {
+                high = high << bitsPerCell | low >>> (64 - bitsPerCell);
+                low = low << bitsPerCell | best[cell];
+            }
+            return new PuzzleKey(high, low);
+        }
+        long high = 0x6A09E667F3BCC908L;
+        long low = 0xBB67AE8584CAA73BL;
+        for (int cell = 0; cell < cellCount; cell++) {
+            high = (high ^ best[cell]) * 0x9E3779B97F4A7C15L;
+            low = (low + best[cell] + 1) * 0xC2B2AE3D27D4EB4FL;
+            low ^= low >>> 29;
+        }
+        return new PuzzleKey(mix(high), mix(low ^ high));
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static long factorial(int n) {
+        long result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    private int[] identity() {
+        int[] map = new int[size];
+        for (int i = 0; i < size; i++) {
+            map[i] = i;
+        }
+        return map;
+    }
+
+    /**
+     * Builds every permutation of the lines of the board that keeps the lines of a group together.
+     *
+     * @param groups the number of bands or stacks.
+     * @param width the number of lines in each group.
+     * @return the maps from transformed line to original line.
+     */
+    private static int[][] lineMaps(int groups, int width) {
+        List<int[]> groupOrders = permutations(groups);
+        List<int[]> lineOrders = permutations(width);
+        List<int[]> maps = new ArrayList<>();
+        int[] choice = new int[groups];
+        for (int[] groupOrder : groupOrders) {
+            Arrays.fill(choice, 0);
+            while (true) {
+                int[] map = new int[groups * width];
+                for (int group = 0; group < groups; group++) {
+                    int[] lines = lineOrders.get(choice[group]);
+                    for (int line = 0; line < width; line++) {
+                        map[group * width + line] = groupOrder[group] * width + lines[line];
+                    }
+                }
+                maps.add(map);
+                int position = 0;
+                while (position < groups && ++choice[position] == lineOrders.size()) {
+                    choice[position++] = 0;
+                }
+                if (position == groups) {
+                    break;
+                }
+            }
+        }
+        return maps.toArray(new int[0][]);
+    }
+
+    private static List<int[]> permutations(int count) {
+        List<int[]> result = new ArrayList<>();
+        permute(new int[count], new boolean[count], 0, result);
+        return result;
+    }
+
+    private static void permute(int[] current, boolean[] used, int position, List<int[]> result) {
+        if (position == current.length) {
+            result.add(current.clone());
+            return;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (!used[i]) {
+                used[i] = true;
+                current[position] = i;
+                permute(current, used, position + 1, result);
+                used[i] = false;
+            }
+        }
+    }
+}
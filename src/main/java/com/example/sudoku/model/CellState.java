@@ -0,0 +1,35 @@
+package com.example.sudoku.model;
+
+/**
+ * The {@code CellState} enum describes what a {@link GameSession} knows about a cell of the playable board.
+ */
+public enum CellState {
+    /**
+     * The cell holds no number.
+     */
+    EMPTY,
+    /**
+     * The cell is a clue of the puzzle and can not be edited.
+     */
+    GIVEN,
+    /**
+     * The cell breaks no rule, but whether the board is still solvable with it has not been answered yet.
+     */
+    PENDING,
+    /**
+     * The cell breaks no rule and the board can still be solved with it.
+     */
+    VALID,
+    /**
+     * The cell was filled from the solution as a hint.
+     */
+    HINTED,
+    /**
+     * The cell repeats a number of its row, column or block.
+     */
+    CONFLICT,
+    /**
+     * The cell breaks no rule, but the board can no longer be solved with it.
+     */
+    UNSOLVABLE
+}
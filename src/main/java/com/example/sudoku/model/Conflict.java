@@ -0,0 +1,55 @@
+package com.example.sudoku.model;
+
+/**
+ * The {@code Conflict} class decodes the conflict codes returned by {@link Sudoku#checkPlacement(int, int, int)}.
+ * <p>
+ * A conflict is packed into a single {@code int}, so checking a placement never allocates: the unit where the digit
+ * repeats is kept in the high bits and the row-major index of the cell that already holds it in the low 16 bits.
+ * {@link #NONE} means the placement is valid.
+ * </p>
+ */
+public final class Conflict {
+    /**
+     * The code of a placement that breaks no rule.
+     */
+    public static final int NONE = 0;
+    /**
+     * The unit of a conflict with another cell of the same row.
+     */
+    public static final int ROW = 1;
+    /**
+     * The unit of a conflict with another cell of the same column.
+     */
+    public static final int COLUMN = 2;
+    /**
+     * The unit of a conflict with another cell of the same block.
+     */
+    public static final int BLOCK = 3;
+
+    private Conflict() {
+    }
+
+    static int of(int unit, int cell) {
+        return unit << 16 | cell;
+    }
+
+    /**
+     * Returns the unit where a conflict happens.
+     *
+     * @param code a conflict code.
+     * @return {@link #ROW}, {@link #COLUMN} or {@link #BLOCK}, or {@link #NONE} for a valid placement.
+     */
+    public static int unit(int code) {
+        return code >>> 16;
+    }
+
+    /**
+     * Returns the cell that already holds the repeated digit.
+     *
+     * @param code a conflict code other than {@link #NONE}.
+     * @return the row-major index of the conflicting cell.
+     */
+    public static int cell(int code) {
+        return code & 0xFFFF;
+    }
+}
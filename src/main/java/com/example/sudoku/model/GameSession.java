@@ -0,0 +1,785 @@
+package com.example.sudoku.model;
+
+import com.example.sudoku.model.bank.PuzzleBank;
+import com.example.sudoku.model.metrics.Metrics;
+import com.example.sudoku.model.metrics.Operation;
+import com.example.sudoku.model.rating.Hint;
+import com.example.sudoku.model.rating.HintEngine;
+
+import java.util.BitSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * The {@code GameSession} class holds the state of one game being played, independently of any user interface.
+ * <p>
+ * A session wraps a {@link Sudoku} and adds what the player sees of it: the {@link CellState} of every cell, the queue
+ * of misplaced cells that hints correct first, and whether the game has been won. Numbers are entered with
+ * {@link #enter(int, int, int)}, which never searches: when the solvability of the board is not known yet the cell is
+ * left {@link CellState#PENDING}, and the caller either settles it on the spot with {@link #resolve(int, int)} or runs a
+ * {@link SolvabilityCheck} elsewhere and hands it back with {@link #applyCheck(int, int, SolvabilityCheck)}.
+ * {@link #place(int, int, int)} does both steps at once for headless callers.
+ * </p>
+ * <p>
+ * An edit can change other cells too: the board keeps the set of cells that repeat a number, so a cell enters
+ * {@link CellState#CONFLICT} as soon as another one repeats its number and leaves it when the repetition is gone. The
+ * cells whose state changed in the last call are listed by {@link #nextChanged(int)}, so a view only has to restyle
+ * those.
+ * </p>
+ * <p>
+ * Hints correct the misplaced cells first. Otherwise, when the board is known to be solvable, they fill the easiest
+ * cell a person could deduce, found by a {@link HintEngine}; the solution is only revealed directly when no deduction
+ * is possible. With {@link #setHintExecutor(Executor)}, the next hint is computed in the background after every edit.
+ * </p>
+ * <p>
+ * Every edit is recorded in a {@link MoveHistory} of packed moves, so it can be taken back with {@link #undo()} and
+ * done again with {@link #redo()}. The session also counts the hints used and the time played, and the whole game can
+ * be saved and restored with {@link GameSnapshot}.
+ * </p>
+ * <p>
+ * The JavaFX controller is one client of this class and the load-test tool is another. A session must only be used by
+ * one thread at a time; many sessions can be played concurrently.
+ * </p>
+ */
+public class GameSession {
+    private final Sudoku sudoku;
+    private final int size;
+    private final CellState[] states;
+    private final boolean[] hinted;
+    private final PriorityQueue<Integer> misplaced;
+    private final BitSet changed;
+    private final BitSet released;
+    private HintEngine hints;
+    private Hint lastHint;
+    private MoveHistory history;
+    private int hintsUsed;
+    private long elapsed;
+    private long resumedAt;
+    private long edits;
+    private boolean won;
+
+    /**
+     * Constructs a session over a new {@link Sudoku} of the given geometry. {@link #newGame()} must be called before
+     * playing.
+     *
+     * @param geometry the shape of the board and its blocks.
+     */
+    public GameSession(SudokuGeometry geometry) {
+        this(new Sudoku(geometry));
+    }
+
+    /**
+     * Constructs a session over an existing game, taking the current playable board as the puzzle: its filled cells
+     * become the clues.
+     *
+     * @param sudoku the game to play.
+     */
+    public GameSession(Sudoku sudoku) {
+        this.sudoku = sudoku;
+        this.size = sudoku.getSize();
+        this.states = new CellState[size * size];
+        this.hinted = new boolean[size * size];
+        this.misplaced = new PriorityQueue<>(
+                (a, b) -> Boolean.compare(states[b] == CellState.UNSOLVABLE, states[a] == CellState.UNSOLVABLE)
+        );
+        this.changed = new BitSet(size * size);
+        this.released = new BitSet(size * size);
+        this.hints = new HintEngine(sudoku.getGeometry());
+        this.history = new MoveHistory();
+        start();
+    }
+
+    /**
+     * Lets the session compute the next hint ahead of time on an executor, while the player is thinking.
+     *
+     * @param executor the executor for the background work, or {@code null} to compute hints only when asked.
+     */
+    public void setHintExecutor(Executor executor) {
+        hints = new HintEngine(sudoku.getGeometry(), executor);
+        prefetchHint();
+    }
+
+    /**
+     * Starts a new game with a puzzle drawn from the installed {@link PuzzleBank}, or, when there is no bank for the
+     * geometry, taken from the shared {@link PuzzlePool} that generates puzzles in the background. When the pool is
+     * empty, the puzzle is generated on the calling thread.
+     *
+     * @return {@code true} if the puzzle came from a bank.
+     */
+    public boolean newGame() {
+        boolean fromBank = loadFromBank();
+        if (!fromBank) {
+            getPuzzlePool().take(sudoku);
+        }
+        start();
+        return fromBank;
+    }
+
+    /**
+     * Starts a new game like {@link #newGame()}, but only if its puzzle does not have to be generated: it must come
+     * from a bank or be ready in the pool. Otherwise the session is left as it was, and the caller generates a puzzle
+     * with {@link PuzzlePool#generate()} on another thread and starts it with {@link #newGame(PuzzlePool.Puzzle)}.
+     *
+     * @return {@code true} if a new game started.
+     */
+    public boolean tryNewGame() {
+        if (!loadFromBank()) {
+            PuzzlePool.Puzzle puzzle = getPuzzlePool().poll();
+            if (puzzle == null) {
+                return false;
+            }
+            puzzle.loadInto(sudoku);
+        }
+        start();
+        return true;
+    }
+
+    /**
+     * Starts a new game with a puzzle of the pool.
+     *
+     * @param puzzle a puzzle taken from or generated by the pool of this geometry.
+     */
+    public void newGame(PuzzlePool.Puzzle puzzle) {
+        puzzle.loadInto(sudoku);
+        start();
+    }
+
+    /**
+     * Returns the shared pool that supplies the puzzles of this geometry when there is no bank for it.
+     *
+     * @return the pool.
+     */
+    public PuzzlePool getPuzzlePool() {
+        return PuzzlePool.shared(sudoku.getGeometry());
+    }
+
+    private boolean loadFromBank() {
+        return PuzzleBank.forGeometry(sudoku.getGeometry()).map(sudoku::loadPuzzle).orElse(false);
+    }
+
+    private void start() {
+        misplaced.clear();
+        changed.clear();
+        won = false;
+        lastHint = null;
+        history.clear();
+        hintsUsed = 0;
+        elapsed = 0;
+        resumedAt = System.nanoTime();
+        edits++;
+        for (int cell = 0; cell < states.length; cell++) {
+            states[cell] = sudoku.getPlayableValue(cell / size, cell % size) == 0 ? CellState.EMPTY : CellState.GIVEN;
+            hinted[cell] = false;
+        }
+        prefetchHint();
+    }
+
+    /**
+     * Enters a number into a cell, or clears it when the number is {@code 0}, without running any search.
+     * <p>
+     * The cell becomes {@link CellState#CONFLICT} if the number repeats in its row, column or block. Otherwise it
+     * becomes {@link CellState#VALID} or {@link CellState#UNSOLVABLE} when the solvability of the board is already
+     * known, and {@link CellState#PENDING} when it is not.
+     * </p>
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param digit the number to enter, or {@code 0} to clear the cell.
+     * @return {@link Conflict#NONE}, or the code of the rule the number breaks.
+     * @throws IllegalArgumentException if the cell is a clue of the puzzle.
+     */
+    public int enter(int row, int col, int digit) {
+        int cell = editable(row, col);
+        record(cell, digit, false);
+        return write(row, col, digit);
+    }
+
+    /**
+     * Writes a number into a cell and updates the states, without recording the move.
+     */
+    private int write(int row, int col, int digit) {
+        int cell = row * size + col;
+        if (digit == 0) {
+            erase(cell);
+            return Conflict.NONE;
+        }
+        int conflict = sudoku.checkPlacement(row, col, digit);
+        sudoku.setPlayableValue(row, col, digit);
+        edits++;
+        changed.clear();
+        hinted[cell] = false;
+        if (conflict != Conflict.NONE) {
+            setState(cell, CellState.CONFLICT);
+        } else if (sudoku.isSolvabilityKnown()) {
+            settle(cell, sudoku.isSolvable(), true);
+        } else {
+            setState(cell, CellState.PENDING);
+        }
+        syncConflicts();
+        return conflict;
+    }
+
+    /**
+     * Enters a number like {@link #enter(int, int, int)} and, if needed, settles the cell by searching on the calling
+     * thread.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param digit the number to enter, or {@code 0} to clear the cell.
+     * @return {@link Conflict#NONE}, or the code of the rule the number breaks.
+     * @throws IllegalArgumentException if the cell is a clue of the puzzle.
+     */
+    public int place(int row, int col, int digit) {
+        int conflict = enter(row, col, digit);
+        resolve(row, col);
+        return conflict;
+    }
+
+    /**
+     * Empties a cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @throws IllegalArgumentException if the cell is a clue of the puzzle.
+     */
+    public void clear(int row, int col) {
+        int cell = editable(row, col);
+        record(cell, 0, false);
+        erase(cell);
+    }
+
+    private void erase(int cell) {
+        sudoku.setPlayableValue(cell / size, cell % size, 0);
+        edits++;
+        changed.clear();
+        hinted[cell] = false;
+        setState(cell, CellState.EMPTY);
+        syncConflicts();
+        prefetchHint();
+    }
+
+    /**
+     * Settles a {@link CellState#PENDING} cell by running the solvability search on the calling thread; other cells are
+     * left as they are.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the state of the cell afterwards.
+     */
+    public CellState resolve(int row, int col) {
+        int cell = row * size + col;
+        changed.clear();
+        if (states[cell] == CellState.PENDING) {
+            settle(cell, sudoku.isSolvable(), true);
+        }
+        return states[cell];
+    }
+
+    /**
+     * Prepares a solvability search of the current board that can run on another thread.
+     *
+     * @return the check, to be handed back with {@link #applyCheck(int, int, SolvabilityCheck)} or
+     *         {@link #applyCheck(SolvabilityCheck)}.
+     */
+    public SolvabilityCheck prepareCheck() {
+        return sudoku.prepareSolvabilityCheck();
+    }
+
+    /**
+     * Adopts the outcome of a finished check for the board, unless the board has been edited since it was prepared.
+     *
+     * @param check a check prepared by this session and already run.
+     * @return {@code true} if the outcome still applied to the board and was adopted.
+     */
+    public boolean applyCheck(SolvabilityCheck check) {
+        return sudoku.applySolvabilityCheck(check);
+    }
+
+    /**
+     * Settles a {@link CellState#PENDING} cell with the outcome of a check prepared right after the cell was entered.
+     * <p>
+     * The cell takes the outcome even if other cells were edited since, but the board only adopts it, and the game can
+     * only be won by it, when it still describes the current board.
+     * </p>
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param check a check prepared by this session and already run.
+     * @return {@code true} if the outcome still described the current board.
+     */
+    public boolean applyCheck(int row, int col, SolvabilityCheck check) {
+        boolean current = sudoku.applySolvabilityCheck(check);
+        int cell = row * size + col;
+        changed.clear();
+        if (states[cell] == CellState.PENDING) {
+            settle(cell, check.isSolvable(), current);
+        }
+        return current;
+    }
+
+    /**
+     * Fills one cell as a hint.
+     * <p>
+     * Misplaced cells are corrected first, those that make the board unsolvable before those that repeat a number; a
+     * cell is only misplaced if its number is in no solution of the puzzle, so a cell that repeats a number because
+     * another cell is wrong is left alone, and so is an entry that leads to another solution than the one found first.
+     * When there are none and the board is known to be solvable, the easiest deducible cell is filled and
+     * {@link #getLastHint()} tells which technique justifies it. If nothing can be deduced, the solution is revealed in
+     * a cell that takes the same digit in every solution of the board as it stands, or in the cell with the fewest
+     * digits left, so a hint never contradicts the entries or the earlier hints.
+     * </p>
+     * <p>
+     * The digits of every cell across the solutions come from the {@link Sudoku}, which searches them once per game
+     * for the puzzle and once per edit for the board, unless a background check has already done so; a caller that
+     * must not block runs a check from {@link #prepareCheck()} elsewhere while {@link #isHintReady()} is
+     * {@code false}. No solvability search is run for the hinted cell itself, so, like after
+     * {@link #enter(int, int, int)}, it may be left {@link CellState#PENDING}.
+     * </p>
+     *
+     * @return the row-major index of the hinted cell, or {@code -1} if the game is won or there is no cell to fill.
+     */
+    public int hint() {
+        long start = Metrics.start();
+        int cell = won ? -1 : fillHint();
+        Metrics.stop(Operation.HINT, start);
+        return cell;
+    }
+
+    /**
+     * Tells whether {@link #hint()} can answer without searching: the game is won, or the digits of every cell across
+     * the solutions of the puzzle and of the board are already known.
+     *
+     * @return {@code true} if a hint needs no search.
+     */
+    public boolean isHintReady() {
+        return won || sudoku.areDigitsKnown();
+    }
+
+    private int fillHint() {
+        int next = misplacedToCorrect();
+        lastHint = next < 0 ? deduce() : null;
+        int cell;
+        if (next >= 0) {
+            cell = next;
+        } else if (lastHint != null) {
+            cell = lastHint.getCell();
+        } else {
+            cell = leastOpen();
+        }
+        if (cell < 0) {
+            return -1;
+        }
+        int row = cell / size;
+        int col = cell % size;
+        int digit = lastHint != null ? lastHint.getDigit() : revealed(row, col, next >= 0);
+        record(cell, digit, true);
+        write(row, col, digit);
+        markHinted(cell);
+        hintsUsed++;
+        return cell;
+    }
+
+    private void markHinted(int cell) {
+        hinted[cell] = true;
+        if (states[cell] == CellState.VALID) {
+            states[cell] = CellState.HINTED;
+        }
+    }
+
+    /**
+     * Takes back the last move, be it an entry, a deletion or a hint.
+     * <p>
+     * The cell gets back the number it held before and is checked again like a fresh entry, so, as with
+     * {@link #enter(int, int, int)}, it may be left {@link CellState#PENDING}. Moves can not be taken back once the
+     * game is won.
+     * </p>
+     *
+     * @return the row-major index of the cell that changed, or {@code -1} if there is nothing to undo.
+     */
+    public int undo() {
+        if (won) {
+            return -1;
+        }
+        int move = history.undo();
+        if (move == MoveHistory.NONE) {
+            return -1;
+        }
+        int cell = MoveHistory.cell(move);
+        write(cell / size, cell % size, MoveHistory.previous(move));
+        return cell;
+    }
+
+    /**
+     * Makes again the last move taken back with {@link #undo()}. A new move made in between discards the moves that
+     * could have been made again.
+     *
+     * @return the row-major index of the cell that changed, or {@code -1} if there is nothing to redo.
+     */
+    public int redo() {
+        if (won) {
+            return -1;
+        }
+        int move = history.redo();
+        if (move == MoveHistory.NONE) {
+            return -1;
+        }
+        int cell = MoveHistory.cell(move);
+        write(cell / size, cell % size, MoveHistory.digit(move));
+        if (MoveHistory.isHint(move)) {
+            markHinted(cell);
+        }
+        return cell;
+    }
+
+    private void record(int cell, int digit, boolean hint) {
+        int previous = sudoku.getPlayableValue(cell / size, cell % size);
+        if (previous != digit) {
+            history.record(MoveHistory.pack(cell, previous, digit, hint));
+        }
+    }
+
+    /**
+     * Replaces the game with a saved one: the solution and the clues, then the entries of the player, which keep the
+     * state they were shown with. No search is run: entries that were still pending are settled at once when the
+     * solvability of the board is already known, and are otherwise left {@link CellState#PENDING} for the caller to
+     * settle, as after {@link #enter(int, int, int)}.
+     *
+     * @param solution the digits of the solution, row-major.
+     * @param values the numbers of the board, clues and entries, row-major, {@code 0} for the cells left empty.
+     * @param saved the state of every cell when the game was saved; {@link CellState#GIVEN} marks the clues.
+     * @param hintedCells the entries that were filled by hints.
+     * @param moves the undo history.
+     * @param hintsUsed the number of hints used.
+     * @param elapsedMillis the time played, in milliseconds.
+     */
+    void restore(int[] solution, int[] values, CellState[] saved, BitSet hintedCells, MoveHistory moves,
+                 int hintsUsed, long elapsedMillis) {
+        BitSet givens = new BitSet(solution.length);
+        for (int cell = 0; cell < saved.length; cell++) {
+            givens.set(cell, saved[cell] == CellState.GIVEN);
+        }
+        sudoku.load(solution, givens);
+        start();
+        this.history = moves;
+        this.hintsUsed = hintsUsed;
+        this.elapsed = elapsedMillis;
+        for (int cell = 0; cell < values.length; cell++) {
+            if (!givens.get(cell) && values[cell] != 0) {
+                sudoku.setPlayableValue(cell / size, cell % size, values[cell]);
+                hinted[cell] = hintedCells.get(cell);
+            }
+        }
+        edits++;
+        Board board = sudoku.getPlayableBoard();
+        for (int cell = 0; cell < values.length; cell++) {
+            if (givens.get(cell) || values[cell] == 0) {
+                continue;
+            }
+            if (board.isConflicting(cell)) {
+                setState(cell, CellState.CONFLICT);
+            } else if (saved[cell] == CellState.UNSOLVABLE) {
+                setState(cell, CellState.UNSOLVABLE);
+            } else if (saved[cell] != CellState.PENDING) {
+                settle(cell, true, true);
+            } else if (sudoku.isSolvabilityKnown()) {
+                settle(cell, sudoku.isSolvable(), true);
+            } else {
+                setState(cell, CellState.PENDING);
+            }
+        }
+    }
+
+    /**
+     * Returns the deduction behind the last {@link #hint()}.
+     *
+     * @return the hint found by the {@link HintEngine}, or {@code null} if the last hint corrected a misplaced cell or
+     *         revealed the solution directly.
+     */
+    public Hint getLastHint() {
+        return lastHint;
+    }
+
+    /**
+     * Returns the misplaced cell that the next hint corrects: the first one in queue order whose number is in no
+     * solution of the puzzle.
+     */
+    private int misplacedToCorrect() {
+        Integer first = misplaced.peek();
+        if (first == null || isWrong(first)) {
+            return first == null ? -1 : first;
+        }
+        int found = -1;
+        for (int cell : misplaced) {
+            if (isWrong(cell) && (found < 0 || states[cell] == CellState.UNSOLVABLE)) {
+                found = cell;
+            }
+        }
+        return found;
+    }
+
+    private boolean isWrong(int cell) {
+        int row = cell / size;
+        int col = cell % size;
+        return (sudoku.getPuzzleDigits(row, col) & 1 << sudoku.getPlayableValue(row, col)) == 0;
+    }
+
+    /**
+     * Returns the digit a hint writes in a cell that no deduction covers: the digit every solution agrees on when
+     * there is one, otherwise the one of the solution found.
+     *
+     * @param misplaced whether the cell holds a wrong number, which is corrected against the puzzle alone.
+     */
+    private int revealed(int row, int col, boolean misplaced) {
+        int digits = misplaced ? sudoku.getPuzzleDigits(row, col) : sudoku.getPossibleDigits(row, col);
+        int solved = sudoku.getSolvedValue(row, col);
+        if (Integer.bitCount(digits) == 1) {
+            return Integer.numberOfTrailingZeros(digits);
+        }
+        return digits == 0 || (digits & 1 << solved) != 0 ? solved : Integer.numberOfTrailingZeros(digits);
+    }
+
+    /**
+     * Asks the hint engine for a deducible cell. Deductions are only sound when every entry agrees with the solution,
+     * which for a puzzle with a single solution is exactly when the board has no repeated number and is known to be
+     * solvable.
+     */
+    private Hint deduce() {
+        if (!canDeduce()) {
+            return null;
+        }
+        return hints.next(sudoku.getPlayableBoard(), edits);
+    }
+
+    private void prefetchHint() {
+        if (!won && canDeduce()) {
+            hints.prefetch(sudoku.getPlayableBoard(), edits);
+        }
+    }
+
+    private boolean canDeduce() {
+        return !sudoku.getPlayableBoard().hasConflicts() && sudoku.isSolvabilityKnown() && sudoku.isSolvable();
+    }
+
+    /**
+     * Brings the states of the other cells in line with the set of conflicting cells kept by the board after an edit:
+     * cells that now repeat a number become {@link CellState#CONFLICT}, and conflicting cells that no longer do are
+     * settled again like a fresh entry.
+     */
+    private void syncConflicts() {
+        Board board = sudoku.getPlayableBoard();
+        for (int cell = board.nextConflicting(0); cell >= 0; cell = board.nextConflicting(cell + 1)) {
+            if (states[cell] != CellState.GIVEN && states[cell] != CellState.CONFLICT) {
+                setState(cell, CellState.CONFLICT);
+            }
+        }
+        released.clear();
+        for (int cell : misplaced) {
+            if (states[cell] == CellState.CONFLICT && !board.isConflicting(cell)) {
+                released.set(cell);
+            }
+        }
+        for (int cell = released.nextSetBit(0); cell >= 0; cell = released.nextSetBit(cell + 1)) {
+            if (sudoku.isSolvabilityKnown()) {
+                settle(cell, sudoku.isSolvable(), true);
+            } else {
+                setState(cell, CellState.PENDING);
+            }
+        }
+    }
+
+    /**
+     * Returns the empty cell with the fewest digits across the solutions of the board, a forced one if any, or the
+     * first empty cell when the board has no solution.
+     */
+    private int leastOpen() {
+        int found = -1;
+        int fewest = Integer.MAX_VALUE;
+        for (int cell = 0; cell < states.length && fewest > 1; cell++) {
+            if (states[cell] != CellState.EMPTY) {
+                continue;
+            }
+            int open = Integer.bitCount(sudoku.getPossibleDigits(cell / size, cell % size));
+            if (found < 0 || open > 0 && open < fewest) {
+                found = cell;
+                fewest = open == 0 ? Integer.MAX_VALUE : open;
+            }
+        }
+        return found;
+    }
+
+    private int editable(int row, int col) {
+        int cell = row * size + col;
+        if (states[cell] == CellState.GIVEN) {
+            throw new IllegalArgumentException("La celda (" + row + ", " + col + ") es una pista del sudoku");
+        }
+        return cell;
+    }
+
+    private void settle(int cell, boolean solvable, boolean current) {
+        if (!solvable) {
+            setState(cell, CellState.UNSOLVABLE);
+            return;
+        }
+        setState(cell, hinted[cell] ? CellState.HINTED : CellState.VALID);
+        if (current && !won && sudoku.isSolved()) {
+            elapsed = getElapsedMillis();
+            won = true;
+        }
+        if (current) {
+            prefetchHint();
+        }
+    }
+
+    /**
+     * Changes the state of a cell, keeping the misplaced queue ordered: a cell is taken out of the queue before its
+     * state changes and put back afterwards if it is still misplaced.
+     */
+    private void setState(int cell, CellState state) {
+        if (isMisplaced(states[cell])) {
+            misplaced.remove(cell);
+        }
+        changed.set(cell);
+        states[cell] = state;
+        if (isMisplaced(state)) {
+            misplaced.add(cell);
+        }
+    }
+
+    private static boolean isMisplaced(CellState state) {
+        return state == CellState.CONFLICT || state == CellState.UNSOLVABLE;
+    }
+
+    /**
+     * Returns the state of a cell.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the state.
+     */
+    public CellState getState(int row, int col) {
+        return states[row * size + col];
+    }
+
+    /**
+     * Returns the next cell whose state changed during the last call that edited the board or settled a cell.
+     * <p>
+     * The cells are listed with {@code for (int i = session.nextChanged(0); i >= 0; i = session.nextChanged(i + 1))}.
+     * </p>
+     *
+     * @param from the first row-major index to consider.
+     * @return the row-major index of the next changed cell, or {@code -1} if there is none.
+     */
+    public int nextChanged(int from) {
+        return changed.nextSetBit(from);
+    }
+
+    /**
+     * Returns the number in a cell of the playable board.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the number, or {@code 0} if the cell is empty.
+     */
+    public int getValue(int row, int col) {
+        return sudoku.getPlayableValue(row, col);
+    }
+
+    /**
+     * Returns the number of cells that repeat a number or make the board unsolvable.
+     *
+     * @return the length of the misplaced queue.
+     */
+    public int getMisplacedCount() {
+        return misplaced.size();
+    }
+
+    /**
+     * Checks whether the playable board is completely and correctly solved.
+     *
+     * @return {@code true} if the board is solved.
+     */
+    public boolean isSolved() {
+        return sudoku.isSolved();
+    }
+
+    /**
+     * Tells whether the game has been won, that is, whether the board was found solved after an entry whose solvability
+     * was settled against the current board.
+     *
+     * @return {@code true} once the game is won.
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Returns the time played, which stops running once the game is won.
+     *
+     * @return the elapsed time in milliseconds, including the time played before the game was saved.
+     */
+    public long getElapsedMillis() {
+        return won ? elapsed : elapsed + (System.nanoTime() - resumedAt) / 1_000_000;
+    }
+
+    /**
+     * Returns the number of hints used in this game, including those whose moves were taken back.
+     *
+     * @return the number of hints.
+     */
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+
+    boolean isHinted(int cell) {
+        return hinted[cell];
+    }
+
+    MoveHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Tells whether the solvability of the board can be answered without searching.
+     *
+     * @return {@code true} if it is already known.
+     */
+    public boolean isSolvabilityKnown() {
+        return sudoku.isSolvabilityKnown();
+    }
+
+    /**
+     * Checks whether the board can still be solved, searching on the calling thread if needed.
+     *
+     * @return {@code true} if the board remains solvable.
+     */
+    public boolean isSolvable() {
+        return sudoku.isSolvable();
+    }
+
+    /**
+     * Returns the message describing the last solvability answer.
+     *
+     * @return the resolvability status, empty while the board is solvable.
+     */
+    public String getResolvabilityStatus() {
+        return sudoku.getResolvabilityStatus();
+    }
+
+    /**
+     * Returns the game played in this session.
+     *
+     * @return the underlying {@link Sudoku}.
+     */
+    public Sudoku getSudoku() {
+        return sudoku;
+    }
+
+    /**
+     * Returns the size of the board.
+     *
+     * @return the number of rows and columns.
+     */
+    public int getSize() {
+        return size;
+    }
+}
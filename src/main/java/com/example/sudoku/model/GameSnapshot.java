@@ -0,0 +1,251 @@
+package com.example.sudoku.model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The {@code GameSnapshot} class saves a {@link GameSession} to a compact binary form and restores it.
+ * <p>
+ * A snapshot starts with a {@value #HEADER_SIZE}-byte header: the magic number {@code "SDKS"}, the format version, the
+ * block rows and block columns of the geometry, a reserved byte, the time played in milliseconds, the number of hints
+ * used, and the length and cursor of the undo history, all big-endian. Then come:
+ * </p>
+ * <ul>
+ *     <li>five bitsets with one bit per cell, row-major and least significant bit first: the givens, the cells filled
+ *     by the player, the cells filled by a hint, and the entries shown as pending and as unsolvable;</li>
+ *     <li>the solution, one nibble per cell holding the digit minus one, low nibble first;</li>
+ *     <li>the numbers of the cells filled by the player, packed the same way in cell order;</li>
+ *     <li>the undo history, one {@code int} per move as packed by {@link MoveHistory}.</li>
+ * </ul>
+ * <p>
+ * A 9x9 game with thirty entries and a hundred moves takes about 530 bytes. Restoring it writes the numbers straight
+ * into the boards and gives every entry back the state it was shown with, without any search: entries that were still
+ * pending stay pending until the caller checks them, as after an edit, so it is about as fast as starting a game from
+ * a bank.
+ * </p>
+ * <p>
+ * The game keeps its save in the directory given by the {@code sudoku.save.dir} system property, by default
+ * {@code saves} under the working directory, with file names such as {@code sudoku-9x9.save}; see
+ * {@link #defaultPath(SudokuGeometry)}.
+ * </p>
+ */
+public final class GameSnapshot {
+    static final int MAGIC = 0x53444B53;
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 28;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Encodes the current state of a session.
+     *
+     * @param session the session to save.
+     * @return the snapshot.
+     */
+    public static byte[] encode(GameSession session) {
+        Sudoku sudoku = session.getSudoku();
+        SudokuGeometry geometry = sudoku.getGeometry();
+        int size = geometry.getSize();
+        int cellCount = geometry.getCellCount();
+        int bitsetSize = (cellCount + 7) / 8;
+        BitSet givens = new BitSet(cellCount);
+        BitSet entered = new BitSet(cellCount);
+        BitSet hinted = new BitSet(cellCount);
+        BitSet pending = new BitSet(cellCount);
+        BitSet unsolvable = new BitSet(cellCount);
+        byte[] solution = new byte[(cellCount + 1) / 2];
+        byte[] entries = new byte[(cellCount + 1) / 2];
+        int entryCount = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            solution[cell >> 1] |= (byte) ((sudoku.getSolvedValue(row, col) - 1) << ((cell & 1) << 2));
+            int value = sudoku.getPlayableValue(row, col);
+            CellState state = session.getState(row, col);
+            if (state == CellState.GIVEN) {
+                givens.set(cell);
+            } else if (value != 0) {
+                entered.set(cell);
+                hinted.set(cell, session.isHinted(cell));
+                pending.set(cell, state == CellState.PENDING);
+                unsolvable.set(cell, state == CellState.UNSOLVABLE);
+                entries[entryCount >> 1] |= (byte) ((value - 1) << ((entryCount & 1) << 2));
+                entryCount++;
+            }
+        }
+        MoveHistory history = session.getHistory();
+        int[] moves = history.toArray();
+        int entriesSize = (entryCount + 1) / 2;
+        ByteBuffer buffer = ByteBuffer.allocate(
+                HEADER_SIZE + 5 * bitsetSize + solution.length + entriesSize + moves.length * Integer.BYTES
+        );
+        buffer.putInt(MAGIC)
+                .put(VERSION)
+                .put((byte) geometry.getBlockRows())
+                .put((byte) geometry.getBlockCols())
+                .put((byte) 0)
+                .putLong(session.getElapsedMillis())
+                .putInt(session.getHintsUsed())
+                .putInt(moves.length)
+                .putInt(history.getPosition());
+        buffer.put(Arrays.copyOf(givens.toByteArray(), bitsetSize))
+                .put(Arrays.copyOf(entered.toByteArray(), bitsetSize))
+                .put(Arrays.copyOf(hinted.toByteArray(), bitsetSize))
+                .put(Arrays.copyOf(pending.toByteArray(), bitsetSize))
+                .put(Arrays.copyOf(unsolvable.toByteArray(), bitsetSize))
+                .put(solution)
+                .put(entries, 0, entriesSize);
+        for (int move : moves) {
+            buffer.putInt(move);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restores a session from a snapshot, replacing the game being played.
+     *
+     * @param data the snapshot.
+     * @param session the session that receives the game.
+     * @return {@code true} if the game was restored, {@code false} if the snapshot holds another geometry.
+     * @throws IOException if the data is not a valid snapshot.
+     */
+    public static boolean decode(byte[] data, GameSession session) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            if (data.length < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException("Partida guardada inválida");
+            }
+            SudokuGeometry geometry = new SudokuGeometry(buffer.get(), buffer.get());
+            if (!geometry.equals(session.getSudoku().getGeometry())) {
+                return false;
+            }
+            buffer.get();
+            long elapsed = buffer.getLong();
+            int hintsUsed = buffer.getInt();
+            int length = buffer.getInt();
+            int position = buffer.getInt();
+            int size = geometry.getSize();
+            int cellCount = geometry.getCellCount();
+            BitSet givens = readBitSet(buffer, cellCount);
+            BitSet entered = readBitSet(buffer, cellCount);
+            BitSet hinted = readBitSet(buffer, cellCount);
+            BitSet pending = readBitSet(buffer, cellCount);
+            BitSet unsolvable = readBitSet(buffer, cellCount);
+            if (givens.intersects(entered) || elapsed < 0 || hintsUsed < 0 || length < 0
+                    || buffer.remaining() != (cellCount + 1) / 2 + (entered.cardinality() + 1) / 2
+                    + (long) length * Integer.BYTES) {
+                throw new IOException("Partida guardada inválida");
+            }
+            int[] solution = new int[cellCount];
+            Board solved = new Board(geometry);
+            for (int cell = 0; cell < cellCount; cell++) {
+                solution[cell] = readNibble(buffer, cell, size);
+                solved.place(cell / size, cell % size, solution[cell]);
+            }
+            if (!solved.isSolved()) {
+                throw new IOException("Partida guardada inválida");
+            }
+            buffer.position(buffer.position() + (cellCount + 1) / 2);
+            int[] values = new int[cellCount];
+            CellState[] saved = new CellState[cellCount];
+            for (int cell = 0; cell < cellCount; cell++) {
+                values[cell] = givens.get(cell) ? solution[cell] : 0;
+                saved[cell] = givens.get(cell) ? CellState.GIVEN : CellState.EMPTY;
+            }
+            int entryCount = 0;
+            for (int cell = entered.nextSetBit(0); cell >= 0; cell = entered.nextSetBit(cell + 1)) {
+                values[cell] = readNibble(buffer, entryCount++, size);
+                if (unsolvable.get(cell)) {
+                    saved[cell] = CellState.UNSOLVABLE;
+                } else {
+                    saved[cell] = pending.get(cell) ? CellState.PENDING : CellState.VALID;
+                }
+            }
+            buffer.position(buffer.position() + (entryCount + 1) / 2);
+            int[] moves = new int[length];
+            for (int i = 0; i < length; i++) {
+                int move = buffer.getInt();
+                if (MoveHistory.cell(move) >= cellCount || givens.get(MoveHistory.cell(move))
+                        || MoveHistory.previous(move) > size || MoveHistory.digit(move) > size) {
+                    throw new IOException("Partida guardada inválida");
+                }
+                moves[i] = move;
+            }
+            session.restore(solution, values, saved, hinted, new MoveHistory(moves, position), hintsUsed, elapsed);
+            return true;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Partida guardada inválida", e);
+        }
+    }
+
+    /**
+     * Saves a session to a file, replacing any previous save atomically.
+     *
+     * @param session the session to save.
+     * @param path the file to write.
+     * @throws IOException if the file can not be written.
+     */
+    public static void write(GameSession session, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, encode(session));
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores a session from a file, if there is one.
+     *
+     * @param session the session that receives the game.
+     * @param path the file to read.
+     * @return {@code true} if the game was restored, {@code false} if there is no file or it holds another geometry.
+     * @throws IOException if the file can not be read or is not a valid snapshot.
+     */
+    public static boolean read(GameSession session, Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        return decode(Files.readAllBytes(path), session);
+    }
+
+    /**
+     * Returns the file where the game keeps the save of a geometry.
+     *
+     * @param geometry the shape of the board.
+     * @return a path such as {@code saves/sudoku-9x9.save}.
+     */
+    public static Path defaultPath(SudokuGeometry geometry) {
+        return Path.of(System.getProperty("sudoku.save.dir", "saves"),
+                "sudoku-" + geometry.getSize() + "x" + geometry.getSize() + ".save");
+    }
+
+    private static BitSet readBitSet(ByteBuffer buffer, int cellCount) {
+        byte[] bytes = new byte[(cellCount + 7) / 8];
+        buffer.get(bytes);
+        BitSet bits = BitSet.valueOf(bytes);
+        if (bits.length() > cellCount) {
+            throw new IllegalArgumentException("Bits fuera del tablero");
+        }
+        return bits;
+    }
+
+    /**
+     * Reads the digit packed at a nibble index from the current position, without moving it.
+     */
+    private static int readNibble(ByteBuffer buffer, int index, int size) {
+        int digit = ((buffer.get(buffer.position() + (index >> 1)) >> ((index & 1) << 2)) & 0xF) + 1;
+        if (digit > size) {
+            throw new IllegalArgumentException("Número fuera del tablero: " + digit);
+        }
+        return digit;
+    }
+}
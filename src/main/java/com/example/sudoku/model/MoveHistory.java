@@ -0,0 +1,151 @@
+package com.example.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * The {@code MoveHistory} class is the undo and redo history of a {@link GameSession}, kept as packed move deltas.
+ * <p>
+ * A move is a single {@code int}: the cell in bits 16 to 30, the number the cell held before in bits 8 to 15, the
+ * number it holds after in bits 0 to 7, and bit 31 set when the move was a hint. Moves live in one growable array with
+ * a cursor; undoing moves the cursor back, redoing moves it forward, and recording a new move drops the moves after
+ * the cursor. Consecutive edits of the same cell are merged into one move, so typing a two-digit number or correcting
+ * a cell right away costs nothing, and a thousand moves take four kilobytes.
+ * </p>
+ */
+final class MoveHistory {
+    /**
+     * The value returned when there is no move to undo or redo; no real move packs to it, since a move always changes
+     * the cell.
+     */
+    static final int NONE = 0;
+    private static final int HINT = 1 << 31;
+    private int[] moves;
+    private int size;
+    private int position;
+    private boolean mergeable;
+
+    /**
+     * Constructs an empty history.
+     */
+    MoveHistory() {
+        this.moves = new int[64];
+    }
+
+    /**
+     * Constructs a history from moves saved with {@link #toArray()}.
+     *
+     * @param moves the packed moves.
+     * @param position the number of moves that are applied; the rest can be redone.
+     * @throws IllegalArgumentException if the position is outside the moves.
+     */
+    MoveHistory(int[] moves, int position) {
+        if (position < 0 || position > moves.length) {
+            throw new IllegalArgumentException("Posición de historial inválida: " + position);
+        }
+        this.moves = Arrays.copyOf(moves, Math.max(64, moves.length));
+        this.size = moves.length;
+        this.position = position;
+    }
+
+    static int pack(int cell, int previous, int digit, boolean hint) {
+        return (hint ? HINT : 0) | cell << 16 | previous << 8 | digit;
+    }
+
+    static int cell(int move) {
+        return (move & ~HINT) >>> 16;
+    }
+
+    static int previous(int move) {
+        return (move >>> 8) & 0xFF;
+    }
+
+    static int digit(int move) {
+        return move & 0xFF;
+    }
+
+    static boolean isHint(int move) {
+        return (move & HINT) != 0;
+    }
+
+    /**
+     * Records a move, dropping the moves that could have been redone.
+     *
+     * @param move a packed move.
+     */
+    void record(int move) {
+        size = position;
+        if (mergeable && position > 0 && !isHint(move) && !isHint(moves[position - 1])
+                && cell(moves[position - 1]) == cell(move)) {
+            int merged = pack(cell(move), previous(moves[position - 1]), digit(move), false);
+            if (previous(merged) == digit(merged)) {
+                position--;
+            } else {
+                moves[position - 1] = merged;
+            }
+            size = position;
+            return;
+        }
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[position++] = move;
+        size = position;
+        mergeable = true;
+    }
+
+    /**
+     * Steps back over the last applied move.
+     *
+     * @return the move to revert, or {@link #NONE} if there is none.
+     */
+    int undo() {
+        mergeable = false;
+        return position == 0 ? NONE : moves[--position];
+    }
+
+    /**
+     * Steps forward over the next undone move.
+     *
+     * @return the move to apply again, or {@link #NONE} if there is none.
+     */
+    int redo() {
+        mergeable = false;
+        return position == size ? NONE : moves[position++];
+    }
+
+    /**
+     * Forgets every move.
+     */
+    void clear() {
+        size = 0;
+        position = 0;
+        mergeable = false;
+    }
+
+    /**
+     * Returns the number of moves that are applied.
+     *
+     * @return the position of the cursor.
+     */
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the number of moves kept, including those that can be redone.
+     *
+     * @return the length of the history.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the moves kept.
+     *
+     * @return the packed moves, oldest first.
+     */
+    int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.sudoku.model;
+
+/**
+ * The {@code PuzzleFormat} class converts boards to and from the usual one-line text form.
+ * <p>
+ * A board is written row by row with one character per cell: {@code '.'} or {@code '0'} for an empty cell, {@code '1'}
+ * to {@code '9'} for the first nine digits and {@code 'A'} to {@code 'G'} for digits 10 to 16. The geometry is inferred
+ * from the length of the line, so a 6x6 puzzle is 36 characters long and a 9x9 one 81.
+ * </p>
+ */
+public final class PuzzleFormat {
+    private static final char[] SYMBOLS = ".123456789ABCDEFG".toCharArray();
+
+    private PuzzleFormat() {
+    }
+
+    /**
+     * Returns the standard geometry whose boards have as many cells as the given line has characters.
+     *
+     * @param line the puzzle text.
+     * @return the matching geometry.
+     * @throws IllegalArgumentException if no standard board has that many cells.
+     */
+    public static SudokuGeometry geometryOf(CharSequence line) {
+        int size = (int) Math.round(Math.sqrt(line.length()));
+        if (size * size != line.length()) {
+            throw new IllegalArgumentException("Longitud de puzzle inválida: " + line.length());
+        }
+        return SudokuGeometry.ofSize(size);
+    }
+
+    /**
+     * Parses a puzzle line into a new board.
+     *
+     * @param line the puzzle text.
+     * @return a board holding the digits of the line.
+     * @throws IllegalArgumentException if the line has an invalid length or symbol.
+     */
+    public static Board parse(CharSequence line) {
+        Board board = new Board(geometryOf(line));
+        parseInto(line, board);
+        return board;
+    }
+
+    /**
+     * Parses a puzzle line into an existing board of the matching geometry, replacing its content.
+     *
+     * @param line the puzzle text.
+     * @param board the board to fill.
+     * @throws IllegalArgumentException if the line does not match the board or has an invalid symbol.
+     */
+    public static void parseInto(CharSequence line, Board board) {
+        int size = board.getSize();
+        if (line.length() != size * size) {
+            throw new IllegalArgumentException("Longitud de puzzle inválida: " + line.length());
+        }
+        board.reset();
+        for (int i = 0; i < line.length(); i++) {
+            int digit = digitOf(line.charAt(i));
+            if (digit < 0 || digit > size) {
+                throw new IllegalArgumentException("Símbolo inválido '" + line.charAt(i) + "' en la posición " + i);
+            }
+            if (digit != 0) {
+                board.place(i / size, i % size, digit);
+            }
+        }
+    }
+
+    /**
+     * Writes a board as a puzzle line.
+     *
+     * @param board the board to format.
+     * @return the one-line text form of the board.
+     */
+    public static String format(Board board) {
+        int cells = board.getSize() * board.getSize();
+        StringBuilder builder = new StringBuilder(cells);
+        for (int i = 0; i < cells; i++) {
+            builder.append(SYMBOLS[board.get(i)]);
+        }
+        return builder.toString();
+    }
+
+    private static int digitOf(char symbol) {
+        if (symbol == '.' || symbol == '0') {
+            return 0;
+        }
+        if (symbol >= '1' && symbol <= '9') {
+            return symbol - '0';
+        }
+        if (symbol >= 'A' && symbol <= 'G') {
+            return symbol - 'A' + 10;
+        }
+        if (symbol >= 'a' && symbol <= 'g') {
+            return symbol - 'a' + 10;
+        }
+        return -1;
+    }
+}
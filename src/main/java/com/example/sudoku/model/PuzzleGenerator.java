@@ -0,0 +1,155 @@
+package com.example.sudoku.model;
+
+import com.example.sudoku.model.rating.Difficulty;
+import com.example.sudoku.model.rating.DifficultyRater;
+import com.example.sudoku.model.rating.PuzzleRating;
+import com.example.sudoku.model.solver.SudokuSolver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code PuzzleGenerator} class creates puzzles that have exactly one solution.
+ * <p>
+ * A random solved board is produced first. Clues are then removed one at a time in random order, and a removal is kept
+ * only if the puzzle still has a single solution, which is verified with a solution count that stops at two. A single
+ * pass is enough to reach a minimal puzzle: a clue that could not be removed earlier can not be removed later either,
+ * since later removals only add solutions. Most removals early in the pass leave the emptied cell with a single
+ * candidate, which proves uniqueness without running the solver at all.
+ * </p>
+ * <p>
+ * A target {@link Difficulty} can be requested as well. Removals that would make the puzzle harder than the target, as
+ * judged by the {@link DifficultyRater}, are then undone too, so the pass ends in a puzzle that is minimal for that
+ * difficulty; if it came out easier than requested, further removal orders are tried on the same solution.
+ * </p>
+ * <p>
+ * A generator owns scratch state and must not be shared between threads.
+ * </p>
+ */
+public class PuzzleGenerator {
+    private final SudokuSolver solver;
+    private final RandomGenerator random;
+    private final DifficultyRater rater;
+    private final int[] order;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param geometry the shape of the puzzles to create.
+     * @param solver the engine used to fill boards and count solutions, for the same geometry.
+     * @param random the source of randomness for the solution and the removal order.
+     */
+    public PuzzleGenerator(SudokuGeometry geometry, SudokuSolver solver, RandomGenerator random) {
+        this.solver = solver;
+        this.random = random;
+        this.rater = new DifficultyRater(geometry);
+        this.order = new int[geometry.getCellCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+    }
+
+    /**
+     * Fills a board with a random valid solution.
+     *
+     * @param solution the board to fill; its previous content is discarded.
+     * @return {@code true} if the board was filled.
+     */
+    public boolean generateSolution(Board solution) {
+        solution.reset();
+        return solver.solveRandomly(solution, random);
+    }
+
+    /**
+     * Creates a minimal unique-solution puzzle from a solved board.
+     *
+     * @param solution a fully solved board; it is not modified.
+     * @param puzzle the board that receives the puzzle.
+     */
+    public void createPuzzle(Board solution, Board puzzle) {
+        removeClues(solution, puzzle, Difficulty.EXPERT);
+    }
+
+    /**
+     * Creates a unique-solution puzzle of a target difficulty from a solved board.
+     * <p>
+     * Every attempt uses a new removal order. The first puzzle rated at the target difficulty is kept; if no attempt
+     * reaches it, the puzzle whose difficulty came closest is left in {@code puzzle}.
+     * </p>
+     *
+     * @param solution a fully solved board; it is not modified.
+     * @param puzzle the board that receives the puzzle.
+     * @param target the requested difficulty.
+     * @param attempts the maximum number of removal orders to try, at least one.
+     * @return the rating of the puzzle left in {@code puzzle}.
+     */
+    public PuzzleRating createPuzzle(Board solution, Board puzzle, Difficulty target, int attempts) {
+        Board best = null;
+        PuzzleRating bestRating = null;
+        for (int attempt = 0; attempt < Math.max(1, attempts); attempt++) {
+            removeClues(solution, puzzle, target);
+            PuzzleRating rating = rater.rate(puzzle);
+            if (rating.getDifficulty() == target) {
+                return rating;
+            }
+            if (bestRating == null || distance(rating, target) < distance(bestRating, target)) {
+                if (best == null) {
+                    best = new Board(puzzle.getGeometry());
+                }
+                best.copyFrom(puzzle);
+                bestRating = rating;
+            }
+        }
+        puzzle.copyFrom(best);
+        return bestRating;
+    }
+
+    /**
+     * Rates a puzzle with the generator's {@link DifficultyRater}.
+     *
+     * @param puzzle the puzzle to rate; it is not modified.
+     * @return the rating of the puzzle.
+     */
+    public PuzzleRating rate(Board puzzle) {
+        return rater.rate(puzzle);
+    }
+
+    /**
+     * Creates a new random solution and a minimal unique-solution puzzle for it.
+     *
+     * @param solution the board that receives the solution.
+     * @param puzzle the board that receives the puzzle.
+     */
+    public void generate(Board solution, Board puzzle) {
+        generateSolution(solution);
+        createPuzzle(solution, puzzle);
+    }
+
+    /**
+     * Removes clues in a new random order while the puzzle keeps a single solution and is not harder than the limit.
+     */
+    private void removeClues(Board solution, Board puzzle, Difficulty limit) {
+        puzzle.copyFrom(solution);
+        int size = puzzle.getSize();
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int index : order) {
+            int row = index / size;
+            int col = index % size;
+            int digit = puzzle.get(index);
+            puzzle.clear(row, col);
+            if (Integer.bitCount(puzzle.candidates(index)) != 1 && solver.countSolutions(puzzle, 2) != 1) {
+                puzzle.place(row, col, digit);
+            } else if (limit != Difficulty.EXPERT && rater.rate(puzzle).getDifficulty().compareTo(limit) > 0) {
+                puzzle.place(row, col, digit);
+            }
+        }
+    }
+
+    private static int distance(PuzzleRating rating, Difficulty target) {
+        return Math.abs(rating.getDifficulty().ordinal() - target.ordinal());
+    }
+}
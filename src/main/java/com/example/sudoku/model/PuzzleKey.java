@@ -0,0 +1,60 @@
+package com.example.sudoku.model;
+
+/**
+ * The {@code PuzzleKey} class is a compact 128-bit identifier of a canonical grid, produced by {@link Canonicalizer}.
+ * <p>
+ * When the canonical grid fits in 128 bits, as every 4x4 and 6x6 grid does, the key is the grid itself packed cell by
+ * cell, so two keys are equal exactly when the grids are. Larger grids are hashed down to 128 bits instead, which
+ * makes an accidental collision negligible for any realistic number of keys.
+ * </p>
+ */
+public final class PuzzleKey {
+    private final long high;
+    private final long low;
+
+    PuzzleKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Returns the upper 64 bits of the key.
+     *
+     * @return the high half.
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Returns the lower 64 bits of the key.
+     *
+     * @return the low half.
+     */
+    public long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PuzzleKey)) {
+            return false;
+        }
+        PuzzleKey that = (PuzzleKey) other;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        long mixed = high * 0x9E3779B97F4A7C15L ^ low;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.sudoku.model;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The {@code PuzzlePool} class keeps a few minimal puzzles of one size generated ahead of time, so that starting a game
+ * does not have to wait for the generator.
+ * <p>
+ * A background thread generates puzzles with its own {@link Sudoku} and stores them as plain arrays until they are
+ * taken. The pool is bounded: the thread needs a free slot before it starts generating, and blocks until a puzzle is
+ * taken once all slots are used, so it never works ahead further than the capacity and costs nothing while the pool is
+ * full. {@link #take(Sudoku)} never waits: when the pool is empty, the puzzle is generated on the calling thread, as it
+ * would have been without a pool. A caller that must not block, like the JavaFX view, takes a ready puzzle with
+ * {@link #poll()} and, when there is none, calls {@link #generate()} on a thread of its own.
+ * </p>
+ * <p>
+ * {@link #shared(SudokuGeometry)} returns one pool per size for the whole run, holding as many puzzles as the
+ * {@code sudoku.pool.size} system property says, by default three.
+ * </p>
+ */
+public final class PuzzlePool implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 3;
+    private static final Map<SudokuGeometry, PuzzlePool> SHARED = new ConcurrentHashMap<>();
+    private final SudokuGeometry geometry;
+    private final int capacity;
+    private final Queue<Puzzle> ready = new ConcurrentLinkedQueue<>();
+    private final Semaphore free;
+    private final Thread filler;
+
+    /**
+     * Constructs a pool and starts filling it in the background.
+     *
+     * @param geometry the shape of the puzzles.
+     * @param capacity the number of puzzles kept ready.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public PuzzlePool(SudokuGeometry geometry, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidad inválida: " + capacity);
+        }
+        this.geometry = geometry;
+        this.capacity = capacity;
+        this.free = new Semaphore(capacity);
+        this.filler = new Thread(this::fill, "puzzle-pool-" + geometry.getSize() + "x" + geometry.getSize());
+        this.filler.setDaemon(true);
+        this.filler.setPriority(Thread.MIN_PRIORITY);
+        this.filler.start();
+    }
+
+    /**
+     * Returns the pool shared by the whole run for a size, creating it on first use.
+     *
+     * @param geometry the shape of the puzzles.
+     * @return the shared pool.
+     */
+    public static PuzzlePool shared(SudokuGeometry geometry) {
+        return SHARED.computeIfAbsent(geometry, key ->
+                new PuzzlePool(geometry, Integer.getInteger("sudoku.pool.size", DEFAULT_CAPACITY)));
+    }
+
+    /**
+     * Replaces the solution and the playable board of a game with the next ready puzzle, or with a puzzle generated on
+     * the spot when none is ready.
+     *
+     * @param sudoku the game that receives the puzzle.
+     * @return {@code true} if the puzzle was ready, {@code false} if it had to be generated.
+     * @throws IllegalArgumentException if the game has another geometry.
+     */
+    public boolean take(Sudoku sudoku) {
+        if (!geometry.equals(sudoku.getGeometry())) {
+            throw new IllegalArgumentException("El sudoku no es de " + geometry);
+        }
+        Puzzle puzzle = poll();
+        if (puzzle == null) {
+            generate(sudoku);
+            return false;
+        }
+        puzzle.loadInto(sudoku);
+        return true;
+    }
+
+    /**
+     * Takes the next ready puzzle, without ever generating one.
+     *
+     * @return the puzzle, or {@code null} if none is ready.
+     */
+    public Puzzle poll() {
+        Puzzle puzzle = ready.poll();
+        if (puzzle != null) {
+            free.release();
+        }
+        return puzzle;
+    }
+
+    /**
+     * Generates a puzzle on the calling thread, leaving the pool as it is.
+     *
+     * @return the new puzzle.
+     */
+    public Puzzle generate() {
+        Sudoku generator = new Sudoku(geometry);
+        generate(generator);
+        return Puzzle.of(generator);
+    }
+
+    /**
+     * Returns the number of puzzles ready to be taken.
+     *
+     * @return the number of puzzles in the pool.
+     */
+    public int size() {
+        return ready.size();
+    }
+
+    /**
+     * Returns the number of puzzles the pool keeps ready.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Stops the background thread. Puzzles already ready can still be taken.
+     */
+    @Override
+    public void close() {
+        filler.interrupt();
+    }
+
+    private void fill() {
+        Sudoku generator = new Sudoku(geometry);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                free.acquire();
+                generate(generator);
+                ready.add(Puzzle.of(generator));
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    private static void generate(Sudoku sudoku) {
+        sudoku.generateSolvedBoard();
+        sudoku.removeCellsToCreatePuzzle();
+    }
+
+    /**
+     * A puzzle taken from the pool: the digits of its solution, row-major, and the cells that are clues. It is started
+     * with {@link GameSession#newGame(Puzzle)}.
+     */
+    public static final class Puzzle {
+        private final int[] solution;
+        private final BitSet givens;
+
+        private Puzzle(int[] solution, BitSet givens) {
+            this.solution = solution;
+            this.givens = givens;
+        }
+
+        private static Puzzle of(Sudoku generator) {
+            int cellCount = generator.getGeometry().getCellCount();
+            int size = generator.getSize();
+            int[] solution = new int[cellCount];
+            BitSet givens = new BitSet(cellCount);
+            for (int cell = 0; cell < cellCount; cell++) {
+                solution[cell] = generator.getSolvedValue(cell / size, cell % size);
+                givens.set(cell, generator.getPlayableValue(cell / size, cell % size) != 0);
+            }
+            return new Puzzle(solution, givens);
+        }
+
+        /**
+         * Replaces the solution and the playable board of a game with this puzzle.
+         *
+         * @param sudoku the game that receives the puzzle, of the same geometry.
+         */
+        void loadInto(Sudoku sudoku) {
+            sudoku.load(solution, givens);
+        }
+    }
+}
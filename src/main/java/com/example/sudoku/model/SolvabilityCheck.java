@@ -0,0 +1,109 @@
+package com.example.sudoku.model;
+
+import com.example.sudoku.model.metrics.Metrics;
+import com.example.sudoku.model.metrics.Operation;
+import com.example.sudoku.model.solver.SolutionSet;
+
+/**
+ * The {@code SolvabilityCheck} class is a self-contained solvability search that can run away from the game state.
+ * <p>
+ * A check is created by {@link Sudoku#prepareSolvabilityCheck()} with a private copy of the playable board, so it can
+ * be run on any thread with a {@link SolutionSet} owned by that thread. Its outcome is handed back with
+ * {@link Sudoku#applySolvabilityCheck(SolvabilityCheck)}, which ignores it if the board was edited in the meantime.
+ * </p>
+ * <p>
+ * Besides the answer, the check finds the digits every cell takes across all the solutions, which the game adopts
+ * along with it so that hints can use them without searching again. While the digits of the puzzle itself are not
+ * known yet, the check also carries a copy of the clues and searches them too; those digits stay valid for the whole
+ * game, so they are adopted even if the board was edited in the meantime.
+ * </p>
+ */
+public final class SolvabilityCheck {
+    private final Board board;
+    private final long version;
+    private final Board puzzle;
+    private final long game;
+    private boolean solvable;
+    private int[] digits;
+    private int[] puzzleDigits;
+
+    SolvabilityCheck(Board board, long version, Board puzzle, long game) {
+        this.board = board;
+        this.version = version;
+        this.puzzle = puzzle;
+        this.game = game;
+    }
+
+    /**
+     * Runs the search on the private copy of the board, collecting the digits of every solution, and then on the
+     * clues of the puzzle if the check carries them.
+     *
+     * @param solutions a solution set for the geometry of the board, not shared with other threads.
+     */
+    public void run(SolutionSet solutions) {
+        long start = Metrics.start();
+        solvable = solutions.compute(board);
+        Metrics.recordNodes(solutions.getNodes());
+        digits = new int[board.getGeometry().getCellCount()];
+        for (int index = 0; index < digits.length; index++) {
+            digits[index] = solutions.getDigits(index);
+        }
+        if (solvable) {
+            board.copyFrom(solutions.getExample());
+        }
+        if (puzzle != null) {
+            solutions.compute(puzzle);
+            Metrics.recordNodes(solutions.getNodes());
+            puzzleDigits = new int[digits.length];
+            for (int index = 0; index < puzzleDigits.length; index++) {
+                puzzleDigits[index] = solutions.getDigits(index);
+            }
+        }
+        Metrics.stop(Operation.CHECK, start);
+    }
+
+    /**
+     * Returns the geometry of the board being checked.
+     *
+     * @return the shape of the board.
+     */
+    public SudokuGeometry getGeometry() {
+        return board.getGeometry();
+    }
+
+    /**
+     * Returns the outcome of the search.
+     *
+     * @return {@code true} if the board could be completed.
+     */
+    public boolean isSolvable() {
+        return solvable;
+    }
+
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the digit masks found by {@link #run(SolutionSet)}, or {@code null} if the check has not been run.
+     */
+    int[] getDigits() {
+        return digits;
+    }
+
+    /**
+     * Returns the digit masks of the puzzle found by {@link #run(SolutionSet)}, or {@code null} if the check did not
+     * carry the clues or has not been run.
+     */
+    int[] getPuzzleDigits() {
+        return puzzleDigits;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    long getGame() {
+        return game;
+    }
+}
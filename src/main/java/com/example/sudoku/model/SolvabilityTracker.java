@@ -0,0 +1,287 @@
+package com.example.sudoku.model;
+
+import com.example.sudoku.model.metrics.Metrics;
+import com.example.sudoku.model.solver.SolutionSet;
+import com.example.sudoku.model.solver.SudokuSolver;
+
+import java.util.BitSet;
+
+/**
+ * The {@code SolvabilityTracker} class answers whether the playable board can still be completed, re-searching only
+ * when an edit may actually have changed the answer.
+ * <p>
+ * The tracker keeps the last solution found together with one of three states: solvable, unsolvable or unknown. Entries
+ * that repeat a digit of their row, column or block are left out of the question, as they are reported on their own;
+ * the clues of the puzzle are always kept, so a wrong entry next to a clue never turns the puzzle into one with more
+ * solutions and the solution found stays that of the puzzle.
+ * While the board is solvable, the cached solution agrees with every other entry, so placing a digit that matches the
+ * solution, or clearing a cell, keeps the board solvable without any search or copy. Only a new entry that disagrees
+ * with the solution, or an edit that may lift an earlier contradiction, marks the state as unknown, and the next
+ * {@link #isSolvable()} call runs the solver again.
+ * </p>
+ * <p>
+ * A single solution is not enough to judge entries when the puzzle has several: an entry that differs from it may
+ * still be right, and revealing it may contradict a later search. The tracker therefore also keeps, with a
+ * {@link SolutionSet}, the digits every cell takes across all the solutions, both of the puzzle alone and of the
+ * current board. Each is searched only when asked for and is then kept until the board changes, or for the set of the
+ * puzzle until the next game; both can also come from a {@link SolvabilityCheck} run on another thread, so that a
+ * caller that checks {@link #areDigitsKnown()} first never searches on its own thread.
+ * </p>
+ */
+class SolvabilityTracker {
+    private static final int UNKNOWN = 0;
+    private static final int SOLVABLE = 1;
+    private static final int UNSOLVABLE = 2;
+    private final Board playable;
+    private final Board solution;
+    private final Board scratch;
+    private final BitSet clues;
+    private final SolutionSet solutions;
+    private final int[] puzzleDigits;
+    private final int[] possibleDigits;
+    private SudokuSolver solver;
+    private int state = UNKNOWN;
+    private long version;
+    private long game;
+    private long puzzleGame = -1;
+    private long possibleVersion = -1;
+
+    /**
+     * Constructs a tracker for a playable board.
+     *
+     * @param playable the board edited by the player.
+     * @param solution the board where the last solution found is kept.
+     * @param scratch a board of the same geometry used as working copy for the solver.
+     * @param solver the engine used when a new search is needed.
+     */
+    SolvabilityTracker(Board playable, Board solution, Board scratch, SudokuSolver solver) {
+        this.playable = playable;
+        this.solution = solution;
+        this.scratch = scratch;
+        this.solver = solver;
+        this.clues = new BitSet(playable.getGeometry().getCellCount());
+        this.solutions = new SolutionSet(playable.getGeometry());
+        this.puzzleDigits = new int[playable.getGeometry().getCellCount()];
+        this.possibleDigits = new int[playable.getGeometry().getCellCount()];
+    }
+
+    /**
+     * Declares that the solution board holds a valid completion of the playable board, as right after generation, and
+     * takes the filled cells of the playable board as the clues of the puzzle.
+     */
+    void reset() {
+        clues.clear();
+        int cellCount = playable.getGeometry().getCellCount();
+        for (int index = 0; index < cellCount; index++) {
+            if (playable.get(index) != 0) {
+                clues.set(index);
+            }
+        }
+        state = SOLVABLE;
+        version++;
+        game++;
+    }
+
+    /**
+     * Forgets the cached answer, so the next query searches again.
+     */
+    void invalidate() {
+        state = UNKNOWN;
+        version++;
+    }
+
+    /**
+     * Replaces the engine used for new searches.
+     *
+     * @param solver the new engine.
+     */
+    void setSolver(SudokuSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Writes a digit into the playable board, or clears the cell when the digit is {@code 0}, and updates the cached
+     * state in constant time.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param digit the digit to place, or {@code 0} to clear.
+     */
+    void place(int row, int col, int digit) {
+        int index = row * playable.getSize() + col;
+        int previous = playable.get(index);
+        if (previous == digit) {
+            return;
+        }
+        version++;
+        if (previous != 0) {
+            boolean wasConflicting = playable.isConflicting(index);
+            playable.clear(row, col);
+            if (wasConflicting || state == UNSOLVABLE) {
+                state = UNKNOWN;
+            }
+        }
+        if (digit == 0) {
+            return;
+        }
+        playable.place(row, col, digit);
+        if (playable.isConflicting(index)) {
+            if (state == UNSOLVABLE) {
+                state = UNKNOWN;
+            }
+        } else if (state == SOLVABLE && solution.get(index) != digit) {
+            state = UNKNOWN;
+        }
+    }
+
+    /**
+     * Checks whether the playable board, without its conflicting entries, can be completed.
+     * <p>
+     * When a search is needed and succeeds, its solution replaces the cached one in the solution board.
+     * </p>
+     *
+     * @return {@code true} if a solution exists.
+     */
+    boolean isSolvable() {
+        if (state == UNKNOWN) {
+            copyWithoutConflicts(scratch);
+            long nodes = solver.getStats().getNodes();
+            boolean found = solver.solve(scratch);
+            Metrics.recordNodes(solver.getStats().getNodes() - nodes);
+            if (found) {
+                solution.copyFrom(scratch);
+                state = SOLVABLE;
+            } else {
+                state = UNSOLVABLE;
+            }
+        }
+        return state == SOLVABLE;
+    }
+
+    /**
+     * Tells whether {@link #isSolvable()} can answer without searching.
+     *
+     * @return {@code true} if the answer for the current board is cached.
+     */
+    boolean isKnown() {
+        return state != UNKNOWN;
+    }
+
+    /**
+     * Creates a check holding its own copy of the playable board, to be searched on another thread.
+     *
+     * @return a check tagged with the current edit version.
+     */
+    SolvabilityCheck prepareCheck() {
+        Board copy = new Board(playable.getGeometry());
+        copyWithoutConflicts(copy);
+        Board puzzle = null;
+        if (puzzleGame != game) {
+            puzzle = new Board(playable.getGeometry());
+            copyClues(puzzle);
+        }
+        return new SolvabilityCheck(copy, version, puzzle, game);
+    }
+
+    /**
+     * Adopts the outcome of a check if the board has not been edited since the check was prepared.
+     *
+     * @param check a check that has been run.
+     * @return {@code true} if the outcome was adopted.
+     */
+    boolean apply(SolvabilityCheck check) {
+        if (check.getPuzzleDigits() != null && check.getGame() == game && puzzleGame != game) {
+            System.arraycopy(check.getPuzzleDigits(), 0, puzzleDigits, 0, puzzleDigits.length);
+            puzzleGame = game;
+        }
+        if (check.getVersion() != version) {
+            return false;
+        }
+        if (check.isSolvable()) {
+            solution.copyFrom(check.getBoard());
+            state = SOLVABLE;
+        } else {
+            state = UNSOLVABLE;
+        }
+        if (check.getDigits() != null) {
+            System.arraycopy(check.getDigits(), 0, possibleDigits, 0, possibleDigits.length);
+            possibleVersion = version;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the digits a cell takes across all the solutions of the puzzle, that is of its clues alone.
+     *
+     * @param index the row-major index of the cell.
+     * @return a mask with bit {@code d} set if some solution of the puzzle has digit {@code d} in the cell.
+     */
+    int getPuzzleDigits(int index) {
+        if (puzzleGame != game) {
+            copyClues(scratch);
+            solutions.compute(scratch);
+            Metrics.recordNodes(solutions.getNodes());
+            copyDigits(puzzleDigits);
+            puzzleGame = game;
+        }
+        return puzzleDigits[index];
+    }
+
+    /**
+     * Returns the digits a cell takes across all the solutions of the playable board, without its conflicting
+     * entries. A search that has to be run also settles the solvability of the board.
+     *
+     * @param index the row-major index of the cell.
+     * @return a mask with bit {@code d} set if some solution has digit {@code d} in the cell, or {@code 0} if the board
+     *         is unsolvable.
+     */
+    int getPossibleDigits(int index) {
+        if (possibleVersion != version) {
+            copyWithoutConflicts(scratch);
+            boolean found = solutions.compute(scratch);
+            Metrics.recordNodes(solutions.getNodes());
+            if (found) {
+                solution.copyFrom(solutions.getExample());
+                state = SOLVABLE;
+            } else {
+                state = UNSOLVABLE;
+            }
+            copyDigits(possibleDigits);
+            possibleVersion = version;
+        }
+        return possibleDigits[index];
+    }
+
+    /**
+     * Tells whether {@link #getPuzzleDigits(int)} and {@link #getPossibleDigits(int)} can answer without searching.
+     *
+     * @return {@code true} if both sets are kept for the current board.
+     */
+    boolean areDigitsKnown() {
+        return puzzleGame == game && possibleVersion == version;
+    }
+
+    private void copyClues(Board target) {
+        int size = playable.getSize();
+        target.reset();
+        for (int cell = clues.nextSetBit(0); cell >= 0; cell = clues.nextSetBit(cell + 1)) {
+            target.place(cell / size, cell % size, playable.get(cell));
+        }
+    }
+
+    private void copyDigits(int[] target) {
+        for (int index = 0; index < target.length; index++) {
+            target[index] = solutions.getDigits(index);
+        }
+    }
+
+    private void copyWithoutConflicts(Board target) {
+        target.copyFrom(playable);
+        int size = playable.getSize();
+        for (int index = playable.nextConflicting(0); index >= 0; index = playable.nextConflicting(index + 1)) {
+            if (!clues.get(index)) {
+                target.clear(index / size, index % size);
+            }
+        }
+    }
+}
@@ -1,45 +1,112 @@
 package com.example.sudoku.model;
 
-import java.util.*;
+import com.example.sudoku.model.bank.PuzzleBank;
+import com.example.sudoku.model.cache.CachingSolver;
+import com.example.sudoku.model.cache.SolutionCache;
+import com.example.sudoku.model.metrics.Metrics;
+import com.example.sudoku.model.metrics.Operation;
+import com.example.sudoku.model.rating.Difficulty;
+import com.example.sudoku.model.rating.PuzzleRating;
+import com.example.sudoku.model.solver.BacktrackingSolver;
+import com.example.sudoku.model.solver.DancingLinksSolver;
+import com.example.sudoku.model.solver.SearchListener;
+import com.example.sudoku.model.solver.SolutionSet;
+import com.example.sudoku.model.solver.SolverType;
+import com.example.sudoku.model.solver.SudokuSolver;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
- * The {@code Sudoku} class models a 6x6 Sudoku puzzle using a 2x3 block layout.
+ * The {@code Sudoku} class models an N x N Sudoku puzzle whose block layout is given by a {@link SudokuGeometry}.
  * <p>
- * This class maintains three board representations:
+ * This class maintains three {@link Board} instances:
  * <ol>
- *   <li>{@code board}: the fully solved puzzle represented as an {@link ArrayList} of {@link ArrayList} of {@link Integer}.</li>
- *   <li>{@code playableBoard}: a puzzle board for gameplay with most cells removed except two for each block.</li>
+ *   <li>{@code board}: the fully solved puzzle.</li>
+ *   <li>{@code playableBoard}: a puzzle board for gameplay, a minimal puzzle whose only solution is {@code board}.</li>
  *   <li>{@code auxiliarBoard}: an auxiliary board used to check if the puzzle remains solvable given the current entries.</li>
  * </ol>
- * It also stores status messages related to validation and puzzle resolvability.
+ * Solvability is tracked incrementally by a {@link SolvabilityTracker}: edits that agree with the last solution found
+ * are answered without searching or copying any board.
+ * Generation and solvability checks are delegated to a {@link SudokuSolver}, by default the
+ * {@link BacktrackingSolver}, which can be replaced with any other engine such as the {@link DancingLinksSolver}.
+ * Tools that see the same boards again can make solves go through a {@link CachingSolver} with
+ * {@link #setSolutionCache(SolutionCache)}; games do not, as they rarely repeat a board and a miss costs more than the
+ * search it saves.
+ * It also stores the status message related to puzzle resolvability. Validation is side-effect free and reports
+ * conflicts as {@link Conflict} codes, which the view turns into messages.
  * </p>
  */
 public class Sudoku {
-    private final int SIZE = 6;
-    private final int BLOCK_ROWS = 2;
-    private final int BLOCK_COLS = 3;
-    private ArrayList<ArrayList<Integer>> board;
-    private ArrayList<ArrayList<Integer>> playableBoard;
-    private ArrayList<ArrayList<Integer>> auxiliarBoard;
-    private String status = "";
+    private static final int DIFFICULTY_ATTEMPTS = 20;
+    private static final String UNSOLVABLE_STATUS = "Los números actuales hacen imposible resolver el sudoku!";
+    private final SudokuGeometry geometry;
+    private final int SIZE;
+    private final Board board;
+    private final Board playableBoard;
+    private final Board auxiliarBoard;
+    private final RandomGenerator random;
+    private SudokuSolver solver;
+    private PuzzleGenerator generator;
+    private SolverType solverType;
+    private SearchListener searchListener = SearchListener.NONE;
+    private SolutionCache solutionCache;
+    private final SolvabilityTracker solvabilityTracker;
     private String resolvabilityStatus = "";
 
     /**
-     * Constructs a {@code Sudoku} object and initializes the board with a 6x6 grid filled with 0's.
+     * Constructs a 6x6 {@code Sudoku} with 2x3 blocks and initializes the boards with 0's.
      */
     public Sudoku() {
-        board = new ArrayList<>();
-        playableBoard = new ArrayList<>();
-        auxiliarBoard = new ArrayList<>();
-        for (int i = 0; i < SIZE; i++) {
-            board.add(new ArrayList<>(Collections.nCopies(SIZE, 0)));
-        }
+        this(SudokuGeometry.SIX);
+    }
+
+    /**
+     * Constructs a {@code Sudoku} with the given geometry, solved by the default {@link BacktrackingSolver}.
+     *
+     * @param geometry the shape of the board and its blocks.
+     */
+    public Sudoku(SudokuGeometry geometry) {
+        this(geometry, SolverType.BACKTRACKING);
+    }
+
+    /**
+     * Constructs a {@code Sudoku} with the given geometry and search engine, and initializes the boards with 0's.
+     *
+     * @param geometry the shape of the board and its blocks.
+     * @param solverType the engine used to generate and solve the board.
+     */
+    public Sudoku(SudokuGeometry geometry, SolverType solverType) {
+        this(geometry, solverType, new Random());
+    }
+
+    /**
+     * Constructs a {@code Sudoku} whose boards are generated from the given source of randomness, so that a fixed seed
+     * always produces the same games.
+     *
+     * @param geometry the shape of the board and its blocks.
+     * @param solverType the engine used to generate and solve the board.
+     * @param random the source of randomness for generation and for drawing puzzles from a bank.
+     */
+    public Sudoku(SudokuGeometry geometry, SolverType solverType, RandomGenerator random) {
+        this.geometry = geometry;
+        this.random = random;
+        SIZE = geometry.getSize();
+        board = new Board(geometry);
+        playableBoard = new Board(geometry);
+        auxiliarBoard = new Board(geometry);
+        this.solverType = solverType;
+        solver = createSolver();
+        generator = new PuzzleGenerator(geometry, solver, random);
+        solvabilityTracker = new SolvabilityTracker(playableBoard, board, auxiliarBoard, solver);
     }
 
     /**
      * Generates a solved Sudoku board.
      * <p>
-     * This method serves as a wrapper for {@link #fillCell(int, int)} starting at row 0 and column 0.
+     * The board is emptied and then completed by the solver, which tries the digits of every branch in a random order.
      * </p>
      *
      * @return {@code true} if the board is successfully solved, {@code false} otherwise.
@@ -47,227 +114,442 @@ public class Sudoku {
      * @version 1.3
      */
     public boolean generateSolvedBoard() {
-        return fillCell(0, 0);
+        long start = Metrics.start();
+        solvabilityTracker.invalidate();
+        boolean generated = generator.generateSolution(board);
+        Metrics.stop(Operation.GENERATE, start);
+        return generated;
     }
 
     /**
-     * Recursively fills the Sudoku board with a valid solution using backtracking.
+     * Checks whether the playable board can still lead to a solution given its current entries.
      * <p>
-     * The method shuffles the list of numbers before trying them for each cell. If a valid number is found for a cell,
-     * it proceeds recursively. If the assignment leads to an unsolvable state, the method backtracks.
+     * Entries that already break a rule are left out, since those are reported separately by
+     * {@link #isValid(int, int, int)}. The answer is kept up to date by the {@link SolvabilityTracker}; when it is no
+     * longer known, the playable board is copied into {@code auxiliarBoard} and completed by the solver, and the solution
+     * found is stored into {@code board}.
      * </p>
      *
-     * @param row the current row index to fill.
-     * @param col the current column index to fill.
-     * @return {@code true} if the board is filled successfully; {@code false} if no valid number leads to a solution.
+     * @return {@code true} if the board remains solvable; {@code false} otherwise.
      * @author Sebastian Calvo
      * @version 1.3
      */
-    private boolean fillCell(int row, int col) {
-        if (row == SIZE) {
-            printBoard(board);
-            return true;
-        }
-        int nextRow = (col == SIZE - 1) ? row + 1 : row;
-        int nextCol = (col == SIZE - 1) ? 0 : col + 1;
-        List<Integer> numbers = Arrays.asList(1, 2, 3, 4, 5, 6);
-        Collections.shuffle(numbers);
-        for (int num : numbers) {
-            if (isValid(row, col, num, board)) {
-                board.get(row).set(col, num);
-                if (fillCell(nextRow, nextCol)) {
-                    status = "";
-                    return true;
-                }
-                board.get(row).set(col, 0);
-            }
-        }
-        return false;
+    public boolean isSolvable() {
+        long start = Metrics.start();
+        boolean solvable = solvabilityTracker.isSolvable();
+        resolvabilityStatus = solvable ? "" : UNSOLVABLE_STATUS;
+        Metrics.stop(Operation.SOLVABLE, start);
+        return solvable;
     }
 
     /**
-     * Attempts to solve the playable board after a new number is inserted.
+     * Counts the solutions of the playable board as it currently stands.
+     *
+     * @param limit the number of solutions after which counting stops.
+     * @return the number of solutions, never more than {@code limit}.
+     */
+    public int countSolutions(int limit) {
+        auxiliarBoard.copyFrom(playableBoard);
+        return solver.countSolutions(auxiliarBoard, limit);
+    }
+
+    /**
+     * Replaces the engine used to generate and solve the board.
+     *
+     * @param solverType the new engine.
+     */
+    public void setSolver(SolverType solverType) {
+        this.solverType = solverType;
+        this.solver = createSolver();
+        this.solver.setSearchListener(searchListener);
+        this.generator = new PuzzleGenerator(geometry, solver, random);
+        solvabilityTracker.setSolver(solver);
+    }
+
+    /**
+     * Makes solves answer repeated boards, and boards symmetric to them, from a cache, or stops doing so.
      * <p>
-     * This method uses a backtracking algorithm similar to the generation algorithm. It checks whether the current
-     * state of {@code playableBoard} can lead to a valid solution. If a solution is found, the solved board is stored
-     * into {@code board}.
+     * Every lookup canonicalizes the board first, which on small boards costs several times a search, so the cache
+     * only pays off for callers that really see the same boards again, such as batch tools fed with repeated puzzles.
      * </p>
      *
-     * @param row the current row index to check.
-     * @param col the current column index to check.
-     * @return {@code true} if the board remains solvable; {@code false} otherwise.
-     * @author Sebastian Calvo
-     * @version 1.3
+     * @param cache the cache to read and fill, usually {@link SolutionCache#forGeometry(SudokuGeometry)}, or
+     *              {@code null} to search every board.
      */
-    public boolean isSolvable(int row, int col) {
-        if (row == SIZE) {
-            printBoard(auxiliarBoard);
-            board.clear();
-            for (List<Integer> rowOnAuxiliar : auxiliarBoard) {
-                board.add(new ArrayList<>(rowOnAuxiliar));
-            }
-            return true;
-        }
-        int nextRow = (col == SIZE - 1) ? row + 1 : row;
-        int nextCol = (col == SIZE - 1) ? 0 : col + 1;
-        if (playableBoard.get(row).get(col) != 0) {
-            return isSolvable(nextRow, nextCol);
-        }
-        for (int num = 1; num <= SIZE; num++) {
-            if (isValid(row, col, num, auxiliarBoard)) {
-                auxiliarBoard.get(row).set(col, num);
-                if (isSolvable(nextRow, nextCol)){
-                    resolvabilityStatus = "";
-                    return true;
-                }
-                auxiliarBoard.get(row).set(col, 0);
-            }
+    public void setSolutionCache(SolutionCache cache) {
+        this.solutionCache = cache;
+        setSolver(solverType);
+    }
+
+    /**
+     * Creates the engine of this game: a new solver of the current type, wrapped in a {@link CachingSolver} when the
+     * game has a {@link SolutionCache}.
+     *
+     * @return the new solver.
+     */
+    private SudokuSolver createSolver() {
+        SudokuSolver engine = solverType.create(geometry);
+        return solutionCache == null ? engine : new CachingSolver(geometry, engine, solutionCache);
+    }
+
+    /**
+     * Installs a listener on the engine used to generate and solve the board, kept when the engine is replaced.
+     *
+     * @param listener the listener, or {@link SearchListener#NONE} to turn tracing off.
+     */
+    public void setSearchListener(SearchListener listener) {
+        this.searchListener = listener;
+        solver.setSearchListener(listener);
+    }
+
+    /**
+     * Returns the engine used to generate and solve the board.
+     *
+     * @return the type of the current solver.
+     */
+    public SolverType getSolverType() {
+        return solverType;
+    }
+
+    /**
+     * Tells whether {@link #isSolvable()} can answer right away, without running a search.
+     *
+     * @return {@code true} if the solvability of the current board is already known.
+     */
+    public boolean isSolvabilityKnown() {
+        return solvabilityTracker.isKnown();
+    }
+
+    /**
+     * Prepares a solvability search that can run on a background thread.
+     * <p>
+     * The returned check owns a copy of the playable board without its conflicting entries, so the game can keep
+     * changing while it runs.
+     * </p>
+     *
+     * @return a check for the current state of the board.
+     */
+    public SolvabilityCheck prepareSolvabilityCheck() {
+        return solvabilityTracker.prepareCheck();
+    }
+
+    /**
+     * Adopts the outcome of a finished check, unless the board has been edited since it was prepared.
+     * <p>
+     * When adopted, the solution found replaces {@code board} and the resolvability status is updated as
+     * {@link #isSolvable()} would do.
+     * </p>
+     *
+     * @param check a check prepared by this object and already run.
+     * @return {@code true} if the outcome still applied to the board and was adopted.
+     */
+    public boolean applySolvabilityCheck(SolvabilityCheck check) {
+        if (!solvabilityTracker.apply(check)) {
+            return false;
         }
-        resolvabilityStatus = "Los números actuales hacen imposible resolver el sudoku!";
-        return false;
+        resolvabilityStatus = check.isSolvable() ? "" : UNSOLVABLE_STATUS;
+        return true;
     }
 
     /**
      * Checks whether the playable board is completely and correctly solved.
      * <p>
-     * The method verifies that no cell is empty and that each number placement adheres to Sudoku rules.
+     * The board keeps count of its filled cells and of the digits repeated in its units as it is edited, so the check
+     * is two comparisons and can run after every keystroke.
      * </p>
      *
      * @return {@code true} if the board is solved; {@code false} otherwise.
      */
     public boolean isSolved(){
-        for (int row = 0; row < SIZE; row++) {
-            for (int col = 0; col < SIZE; col++) {
-                int value = playableBoard.get(row).get(col);
-                if (value == 0)
-                    return false;
-                playableBoard.get(row).set(col, 0);
-                boolean isValid = isValid(row, col, value, playableBoard);
-                playableBoard.get(row).set(col, value);
-                if (!isValid)
-                    return false;
-            }
-        }
-        return true;
+        long start = Metrics.start();
+        boolean solved = playableBoard.isSolved();
+        Metrics.stop(Operation.SOLVED, start);
+        return solved;
+    }
+
+    /**
+     * Returns the next cell of the playable board that repeats a number of its row, column or block.
+     *
+     * @param from the first row-major index to consider.
+     * @return the row-major index of the next conflicting cell, or {@code -1} if there is none.
+     */
+    public int nextConflictingCell(int from) {
+        return playableBoard.nextConflicting(from);
     }
 
     /**
-     * Checks if placing a given number at the specified cell is valid.
+     * Checks if placing a given number at the specified cell of the playable board is valid.
      * <p>
-     * This method verifies that the number is not already present in the corresponding row, column, or block.
-     * It is used both for board generation and for validating user input.
+     * This method verifies that the number is not already present in the corresponding row, column, or block. The
+     * current content of the cell itself is ignored, so it can be used to validate a replacement. Each check is a
+     * constant-time lookup in the counters kept by {@link Board}. Nothing is stored, so the check can be called from
+     * any thread that does not edit the board at the same time.
      * </p>
      *
      * @param row the row index of the cell.
      * @param col the column index of the cell.
      * @param num the number to be placed.
-     * @param boardToCheck the board in which to validate the placement.
      * @return {@code true} if the placement is valid; {@code false} otherwise.
      * @author Santiago Arias
      * @version 1.2
      */
-    public boolean isValid(int row, int col, int num, ArrayList<ArrayList<Integer>> boardToCheck) {
-        if (boardToCheck.get(row).contains(num)){
-            status = "Mismo numero (" + String.valueOf(num) + ") en la fila!";
-            return false;
+    public boolean isValid(int row, int col, int num) {
+        long start = Metrics.start();
+        boolean valid = playableBoard.countInRow(row, num, col) == 0
+                && playableBoard.countInColumn(col, num, row) == 0
+                && playableBoard.countInBlock(row, col, num) == 0;
+        Metrics.stop(Operation.VALIDATE, start);
+        return valid;
+    }
+
+    /**
+     * Checks a placement like {@link #isValid(int, int, int)}, and tells where the number already is when it is not
+     * valid.
+     * <p>
+     * Rows are checked first, then columns, then blocks. The conflicting cell is only searched for once a counter has
+     * reported a repetition, and nothing is allocated either way.
+     * </p>
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param num the number to be placed.
+     * @return {@link Conflict#NONE} if the placement is valid, or a code to decode with {@link Conflict}.
+     */
+    public int checkPlacement(int row, int col, int num) {
+        long start = Metrics.start();
+        int conflict = findConflict(row, col, num);
+        Metrics.stop(Operation.VALIDATE, start);
+        return conflict;
+    }
+
+    private int findConflict(int row, int col, int num) {
+        int[][] units = geometry.getUnits();
+        if (playableBoard.countInRow(row, num, col) != 0) {
+            return Conflict.of(Conflict.ROW, findOther(units[row], row * SIZE + col, num));
         }
-        for (int r = 0; r < SIZE; r++) {
-            if (boardToCheck.get(r).get(col) == num){
-                status = "Mismo numero (" + String.valueOf(num) + ") en la columna!";
-                return false;
-            }
+        if (playableBoard.countInColumn(col, num, row) != 0) {
+            return Conflict.of(Conflict.COLUMN, findOther(units[SIZE + col], row * SIZE + col, num));
+        }
+        if (playableBoard.countInBlock(row, col, num) != 0) {
+            int block = geometry.blockIndex(row, col);
+            return Conflict.of(Conflict.BLOCK, findOther(units[2 * SIZE + block], row * SIZE + col, num));
         }
-        int blockStartRow = (row / BLOCK_ROWS) * BLOCK_ROWS;
-        int blockStartCol = (col / BLOCK_COLS) * BLOCK_COLS;
-        for (int r = 0; r < BLOCK_ROWS; r++) {
-            for (int c = 0; c < BLOCK_COLS; c++) {
-                if (boardToCheck.get(blockStartRow + r).get(blockStartCol + c) == num) {
-                    status = "Mismo numero (" + String.valueOf(num) + ") en el bloque!";
-                    return false;
-                }
+        return Conflict.NONE;
+    }
+
+    private int findOther(int[] unit, int index, int num) {
+        for (int cell : unit) {
+            if (cell != index && playableBoard.get(cell) == num) {
+                return cell;
             }
         }
-        status = "";
-        return true;
+        throw new IllegalStateException("Contador inconsistente para " + num);
     }
 
     /**
      * Removes cells from the solved board to create a playable puzzle.
      * <p>
-     * This method makes a deep copy of the solved board into {@code playableBoard} and then, for each block,
-     * removes all but two cells chosen at random.
+     * The {@link PuzzleGenerator} removes clues one at a time in random order and keeps each removal only while the
+     * puzzle still has a single solution, so the resulting {@code playableBoard} is minimal and {@code board} is its only
+     * solution.
      * </p>
      */
     public void removeCellsToCreatePuzzle() {
-        Random rand = new Random();
-        playableBoard.clear();
-        for (List<Integer> row : board) {
-            playableBoard.add(new ArrayList<>(row));
+        long start = Metrics.start();
+        generator.createPuzzle(board, playableBoard);
+        solvabilityTracker.reset();
+        Metrics.stop(Operation.DIG, start);
+    }
+
+    /**
+     * Removes cells from the solved board to create a playable puzzle of a requested difficulty.
+     * <p>
+     * Several removal orders are tried on the same solution; when none of them reaches the requested difficulty, the
+     * closest puzzle found is kept.
+     * </p>
+     *
+     * @param difficulty the requested difficulty.
+     * @return the rating of the resulting puzzle.
+     */
+    public PuzzleRating removeCellsToCreatePuzzle(Difficulty difficulty) {
+        long start = Metrics.start();
+        PuzzleRating rating = generator.createPuzzle(board, playableBoard, difficulty, DIFFICULTY_ATTEMPTS);
+        solvabilityTracker.reset();
+        Metrics.stop(Operation.DIG, start);
+        return rating;
+    }
+
+    /**
+     * Replaces the solution and the playable board with a random puzzle of a pre-generated bank.
+     * <p>
+     * This is the cheap alternative to {@link #generateSolvedBoard()} followed by {@link #removeCellsToCreatePuzzle()}:
+     * the puzzle is unpacked from the memory-mapped bank instead of being searched for.
+     * </p>
+     *
+     * @param bank the bank to draw from.
+     * @return {@code true} if a puzzle was loaded, {@code false} if the bank is empty, holds another geometry or the
+     *         record drawn is corrupt, in which case the current puzzle is kept.
+     */
+    public boolean loadPuzzle(PuzzleBank bank) {
+        if (!geometry.equals(bank.getGeometry()) || bank.size() == 0) {
+            return false;
+        }
+        try {
+            bank.loadRandom(null, random, board, playableBoard);
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            return false;
         }
-        for (int blockRow = 0; blockRow < SIZE; blockRow += BLOCK_ROWS) {
-            for (int blockCol = 0; blockCol < SIZE; blockCol += BLOCK_COLS) {
-                List<int[]> positions = new ArrayList<>();
-                for (int r = 0; r < BLOCK_ROWS; r++) {
-                    for (int c = 0; c < BLOCK_COLS; c++) {
-                        positions.add(new int[]{blockRow + r, blockCol + c});
-                    }
-                }
-                Collections.shuffle(positions);
-                Set<int[]> toKeep = new HashSet<>();
-                toKeep.add(positions.get(0));
-                toKeep.add(positions.get(1));
-                for (int[] pos : positions) {
-                    if (!toKeep.contains(pos)) {
-                        playableBoard.get(pos[0]).set(pos[1], 0);
-                    }
-                }
+        solvabilityTracker.reset();
+        return true;
+    }
+
+    /**
+     * Replaces the solution and the playable board with a saved or pre-generated puzzle.
+     *
+     * @param solution the digits of the solution, row-major.
+     * @param givens the cells of the solution that are clues of the puzzle.
+     */
+    void load(int[] solution, BitSet givens) {
+        board.reset();
+        playableBoard.reset();
+        for (int cell = 0; cell < solution.length; cell++) {
+            int row = cell / getSize();
+            int col = cell % getSize();
+            board.place(row, col, solution[cell]);
+            if (givens.get(cell)) {
+                playableBoard.place(row, col, solution[cell]);
             }
         }
+        solvabilityTracker.reset();
+    }
+
+    /**
+     * Places a number in the playable board, or empties the cell when the number is {@code 0}.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @param num the number to place, or {@code 0} to clear the cell.
+     */
+    public void setPlayableValue(int row, int col, int num) {
+        solvabilityTracker.place(row, col, num);
+    }
+
+    /**
+     * Returns the number stored in a cell of the playable board.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the number, or {@code 0} if the cell is empty.
+     */
+    public int getPlayableValue(int row, int col) {
+        return playableBoard.get(row, col);
+    }
+
+    /**
+     * Returns the number stored in a cell of the solved board.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the number of the solution at that cell.
+     */
+    public int getSolvedValue(int row, int col) {
+        return board.get(row, col);
+    }
+
+    /**
+     * Returns the digits a cell takes in at least one solution of the puzzle, whatever the player has entered.
+     * <p>
+     * The digits are found by a single {@link SolutionSet} search over the clues the first time they are asked for in a
+     * game, unless a {@link SolvabilityCheck} has already searched them. A puzzle with several solutions has several
+     * digits in some cells; the solved board only holds one of them.
+     * </p>
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a mask with bit {@code d} set if digit {@code d} can be in the cell.
+     */
+    public int getPuzzleDigits(int row, int col) {
+        return solvabilityTracker.getPuzzleDigits(row * SIZE + col);
+    }
+
+    /**
+     * Tells whether {@link #getPuzzleDigits(int, int)} and {@link #getPossibleDigits(int, int)} can answer without
+     * searching, because the sets were already searched for the current board or adopted from a
+     * {@link SolvabilityCheck}.
+     *
+     * @return {@code true} if no search is needed.
+     */
+    public boolean areDigitsKnown() {
+        return solvabilityTracker.areDigitsKnown();
+    }
+
+    /**
+     * Returns the digits a cell takes in at least one solution of the playable board as it stands, leaving out the
+     * entries that repeat a number.
+     * <p>
+     * The digits are kept from the last {@link SolutionSet} search, either run here when the board has changed since,
+     * which also settles {@link #isSolvable()}, or adopted from a {@link SolvabilityCheck} run with a solution set.
+     * </p>
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return a mask with bit {@code d} set if digit {@code d} can be in the cell, or {@code 0} if the board is
+     *         unsolvable.
+     */
+    public int getPossibleDigits(int row, int col) {
+        int digits = solvabilityTracker.getPossibleDigits(row * SIZE + col);
+        resolvabilityStatus = solvabilityTracker.isSolvable() ? "" : UNSOLVABLE_STATUS;
+        return digits;
     }
 
     /**
-     * Returns the playable Sudoku board.
+     * Returns the playable board itself, for read-only use by the classes of this package.
      *
-     * @return the playable board as an {@link ArrayList} of {@link ArrayList} of {@link Integer}.
+     * @return the playable board.
      */
-    public ArrayList<ArrayList<Integer>> getPlayableSudoku(){
+    Board getPlayableBoard() {
         return playableBoard;
     }
 
     /**
-     * Returns the solved Sudoku board.
+     * Returns a live list view of the playable Sudoku board.
+     * <p>
+     * Edits must go through {@link #setPlayableValue(int, int, int)}; writing through the view skips solvability
+     * tracking.
+     * </p>
      *
-     * @return the solved board as an {@link ArrayList} of {@link ArrayList} of {@link Integer}.
+     * @return the playable board as a {@link List} of rows.
      */
-    public ArrayList<ArrayList<Integer>> getSolvedSudoku(){
-        return board;
+    public List<List<Integer>> getPlayableSudoku(){
+        return playableBoard.asRows();
     }
 
     /**
-     * Returns the auxiliary Sudoku board used for checking solvability.
+     * Returns a live list view of the solved Sudoku board.
      *
-     * @return the auxiliary board as an {@link ArrayList} of {@link ArrayList} of {@link Integer}.
+     * @return the solved board as a {@link List} of rows.
      */
-    public ArrayList<ArrayList<Integer>> getAuxiliarSudoku(){
-        return auxiliarBoard;
+    public List<List<Integer>> getSolvedSudoku(){
+        return board.asRows();
     }
 
     /**
-     * Returns the size of the Sudoku board.
+     * Returns the geometry of the Sudoku board.
      *
-     * @return the size of the board.
+     * @return the shape of the board and its blocks.
      */
-    public int getSize(){
-        return SIZE;
+    public SudokuGeometry getGeometry(){
+        return geometry;
     }
 
     /**
-     * Returns the status message from the last validation check.
+     * Returns the size of the Sudoku board.
      *
-     * @return the status message.
+     * @return the size of the board.
      */
-    public String getStatus(){
-        return status;
+    public int getSize(){
+        return SIZE;
     }
 
     /**
@@ -282,18 +564,19 @@ public class Sudoku {
     /**
      * Prints the specified Sudoku board to the terminal.
      * <p>
-     * Each row is printed on a new line and empty cells are represented by a period ('.').
+     * Each row is printed on a new line and empty cells are represented by a period ('.'). This is a debugging aid only:
+     * the game and the search never print, and a {@link SearchListener} is the way to observe the solver.
      * </p>
      *
      * @param boardToPrint the board to be printed.
      */
-    public void printBoard(ArrayList<ArrayList<Integer>> boardToPrint) {
-        for (ArrayList<Integer> row : boardToPrint) {
+    public void printBoard(List<List<Integer>> boardToPrint) {
+        for (List<Integer> row : boardToPrint) {
             for (int num : row) {
                 System.out.print((num == 0 ? "." : num) + " ");
             }
             System.out.println();
         }
-        System.out.println("- - - - - -");
+        System.out.println("- ".repeat(SIZE).trim());
     }
 }
\ No newline at end of file
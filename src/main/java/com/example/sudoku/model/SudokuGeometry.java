@@ -0,0 +1,186 @@
+package com.example.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SudokuGeometry} class describes the shape of a Sudoku grid.
+ * <p>
+ * A grid is made of blocks of {@code blockRows x blockCols} cells, and has as many rows, columns and digits as a block
+ * has cells. The common variants are exposed as constants, from the 4x4 board with 2x2 blocks up to the 16x16 board
+ * with 4x4 blocks. Digits are stored in bitmasks and packed in nibbles elsewhere in the model, so a side can not be
+ * larger than {@value #MAX_SIZE}.
+ * </p>
+ */
+public final class SudokuGeometry {
+    /**
+     * The largest board side supported by the model.
+     */
+    public static final int MAX_SIZE = 16;
+
+    public static final SudokuGeometry FOUR = new SudokuGeometry(2, 2);
+    public static final SudokuGeometry SIX = new SudokuGeometry(2, 3);
+    public static final SudokuGeometry NINE = new SudokuGeometry(3, 3);
+    public static final SudokuGeometry TWELVE = new SudokuGeometry(3, 4);
+    public static final SudokuGeometry SIXTEEN = new SudokuGeometry(4, 4);
+
+    private final int blockRows;
+    private final int blockCols;
+    private final int size;
+    private final int[][] units;
+    private final int[][] peers;
+
+    /**
+     * Constructs a geometry from the dimensions of its blocks.
+     *
+     * @param blockRows the number of rows of each block.
+     * @param blockCols the number of columns of each block.
+     * @throws IllegalArgumentException if a dimension is not positive or the resulting side exceeds {@value #MAX_SIZE}.
+     */
+    public SudokuGeometry(int blockRows, int blockCols) {
+        if (blockRows < 1 || blockCols < 1 || blockRows * blockCols > MAX_SIZE) {
+            throw new IllegalArgumentException("Bloques de " + blockRows + "x" + blockCols + " no soportados");
+        }
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+        this.size = blockRows * blockCols;
+        this.units = new int[3 * size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                units[i][j] = i * size + j;
+                units[size + i][j] = j * size + i;
+                int row = (i / blockRows) * blockRows + j / blockCols;
+                int col = (i % blockRows) * blockCols + j % blockCols;
+                units[2 * size + i][j] = row * size + col;
+            }
+        }
+        int cells = size * size;
+        this.peers = new int[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int block = blockIndex(row, col);
+            int[] buffer = new int[3 * size];
+            int count = 0;
+            for (int other = 0; other < cells; other++) {
+                int otherRow = other / size;
+                int otherCol = other % size;
+                if (other != cell && (otherRow == row || otherCol == col || blockIndex(otherRow, otherCol) == block)) {
+                    buffer[count++] = other;
+                }
+            }
+            peers[cell] = Arrays.copyOf(buffer, count);
+        }
+    }
+
+    /**
+     * Returns the standard geometry for a board side.
+     *
+     * @param size the number of rows of the board: 4, 6, 9, 12 or 16.
+     * @return the matching geometry.
+     * @throws IllegalArgumentException if there is no standard geometry for that side.
+     */
+    public static SudokuGeometry ofSize(int size) {
+        switch (size) {
+            case 4: return FOUR;
+            case 6: return SIX;
+            case 9: return NINE;
+            case 12: return TWELVE;
+            case 16: return SIXTEEN;
+            default: throw new IllegalArgumentException("Tamaño de tablero no soportado: " + size);
+        }
+    }
+
+    /**
+     * Returns the number of rows, columns and digits of the board.
+     *
+     * @return the side of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of rows of each block.
+     *
+     * @return the block height.
+     */
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    /**
+     * Returns the number of columns of each block.
+     *
+     * @return the block width.
+     */
+    public int getBlockCols() {
+        return blockCols;
+    }
+
+    /**
+     * Returns the number of cells of the board.
+     *
+     * @return {@code size * size}.
+     */
+    public int getCellCount() {
+        return size * size;
+    }
+
+    /**
+     * Returns the index of the block that contains a cell, counting blocks row-major from the top left.
+     *
+     * @param row the row index of the cell.
+     * @param col the column index of the cell.
+     * @return the block index.
+     */
+    public int blockIndex(int row, int col) {
+        return (row / blockRows) * blockRows + col / blockCols;
+    }
+
+    /**
+     * Returns the cells of every unit of the board as row-major indices.
+     * <p>
+     * The first {@code size} units are the rows, the next {@code size} the columns and the last {@code size} the
+     * blocks, in the order of {@link #blockIndex(int, int)}. The returned arrays are shared and must not be modified.
+     * </p>
+     *
+     * @return an array of {@code 3 * size} units of {@code size} cells each.
+     */
+    public int[][] getUnits() {
+        return units;
+    }
+
+    /**
+     * Returns, for every cell, the row-major indices of the other cells that share its row, column or block.
+     * <p>
+     * The returned arrays are shared and must not be modified.
+     * </p>
+     *
+     * @return the peers of every cell, indexed by cell.
+     */
+    public int[][] getPeers() {
+        return peers;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SudokuGeometry)) {
+            return false;
+        }
+        SudokuGeometry that = (SudokuGeometry) other;
+        return blockRows == that.blockRows && blockCols == that.blockCols;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * blockRows + blockCols;
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size + " (" + blockRows + "x" + blockCols + ")";
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.sudoku.model.bank;
+
+import com.example.sudoku.model.SudokuGeometry;
+
+/**
+ * The {@code BankFormat} class holds the layout of a puzzle bank file.
+ * <p>
+ * A bank starts with a {@value #HEADER_SIZE}-byte header: the magic number {@code "SDKB"}, the format version, the
+ * block rows and block columns of the geometry, a reserved byte and the number of records, all big-endian. Records
+ * follow back to back and all have the same size for a given geometry:
+ * </p>
+ * <ul>
+ *     <li>one byte with the ordinal of the puzzle's difficulty;</li>
+ *     <li>a bitset with one bit per cell, row-major and least significant bit first, set for the givens;</li>
+ *     <li>the solution, one nibble per cell holding the digit minus one, low nibble first.</li>
+ * </ul>
+ * <p>
+ * A 9x9 record takes 53 bytes, so a million puzzles fit in about 50 MB.
+ * </p>
+ */
+final class BankFormat {
+    static final int MAGIC = 0x53444B42;
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int COUNT_OFFSET = 8;
+
+    private BankFormat() {
+    }
+
+    /**
+     * Returns the number of bytes of the givens bitset.
+     */
+    static int givensSize(SudokuGeometry geometry) {
+        return (geometry.getCellCount() + 7) / 8;
+    }
+
+    /**
+     * Returns the number of bytes of the packed solution.
+     */
+    static int solutionSize(SudokuGeometry geometry) {
+        return (geometry.getCellCount() + 1) / 2;
+    }
+
+    /**
+     * Returns the number of bytes of a record.
+     */
+    static int recordSize(SudokuGeometry geometry) {
+        return 1 + givensSize(geometry) + solutionSize(geometry);
+    }
+}
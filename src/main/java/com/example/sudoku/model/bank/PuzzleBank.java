@@ -0,0 +1,237 @@
+package com.example.sudoku.model.bank;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.rating.Difficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code PuzzleBank} class serves pre-generated puzzles from a bank file written by {@link PuzzleBankWriter}.
+ * <p>
+ * The file is memory-mapped read-only, so opening a bank costs the same whatever its size and a puzzle is loaded by
+ * unpacking its record straight from the mapping, without any parsing. Only absolute reads are used on the mapping, so
+ * a bank can be shared between threads.
+ * </p>
+ * <p>
+ * The game looks for banks in the directory given by the {@code sudoku.bank.dir} system property, by default
+ * {@code banks} under the working directory, with file names such as {@code sudoku-9x9.bank}; see
+ * {@link #forGeometry(SudokuGeometry)}.
+ * </p>
+ */
+public final class PuzzleBank {
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final Map<SudokuGeometry, Optional<PuzzleBank>> INSTALLED = new ConcurrentHashMap<>();
+    private final ByteBuffer data;
+    private final SudokuGeometry geometry;
+    private final int count;
+    private final int cellCount;
+    private final int givensSize;
+    private final int recordSize;
+
+    private PuzzleBank(ByteBuffer data, SudokuGeometry geometry, int count) {
+        this.data = data;
+        this.geometry = geometry;
+        this.count = count;
+        this.cellCount = geometry.getCellCount();
+        this.givensSize = BankFormat.givensSize(geometry);
+        this.recordSize = BankFormat.recordSize(geometry);
+    }
+
+    /**
+     * Maps a bank file.
+     *
+     * @param path the bank file.
+     * @return the opened bank.
+     * @throws IOException if the file can not be read or is not a valid bank.
+     */
+    public static PuzzleBank open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < BankFormat.HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Banco de puzzles inválido: " + path);
+            }
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (data.getInt(0) != BankFormat.MAGIC || data.get(4) != BankFormat.VERSION) {
+                throw new IOException("Banco de puzzles inválido: " + path);
+            }
+            SudokuGeometry geometry;
+            try {
+                geometry = new SudokuGeometry(data.get(5), data.get(6));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Banco de puzzles inválido: " + path, e);
+            }
+            int count = data.getInt(BankFormat.COUNT_OFFSET);
+            if (count < 0 || BankFormat.HEADER_SIZE + (long) count * BankFormat.recordSize(geometry) > length) {
+                throw new IOException("Banco de puzzles truncado: " + path);
+            }
+            return new PuzzleBank(data, geometry, count);
+        }
+    }
+
+    /**
+     * Returns the installed bank for a geometry, if there is one.
+     * <p>
+     * The bank is looked up once per geometry and kept mapped for the rest of the run, so every new game after the
+     * first one reuses the same mapping. A missing or invalid file simply means that there is no bank.
+     * </p>
+     *
+     * @param geometry the shape of the puzzles wanted.
+     * @return the bank, or an empty optional if none is installed for that geometry.
+     */
+    public static Optional<PuzzleBank> forGeometry(SudokuGeometry geometry) {
+        return INSTALLED.computeIfAbsent(geometry, key -> {
+            Path path = Path.of(System.getProperty("sudoku.bank.dir", "banks"), fileName(key));
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+            try {
+                PuzzleBank bank = open(path);
+                return bank.geometry.equals(key) && bank.count > 0 ? Optional.of(bank) : Optional.empty();
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Returns the file name under which the game looks for the bank of a geometry.
+     *
+     * @param geometry the shape of the puzzles.
+     * @return a name such as {@code sudoku-9x9.bank}.
+     */
+    public static String fileName(SudokuGeometry geometry) {
+        return "sudoku-" + geometry.getSize() + "x" + geometry.getSize() + ".bank";
+    }
+
+    /**
+     * Returns the shape of the puzzles of the bank.
+     *
+     * @return the geometry.
+     */
+    public SudokuGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the number of puzzles of the bank.
+     *
+     * @return the record count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the difficulty of a puzzle without unpacking it.
+     *
+     * @param index the index of the puzzle.
+     * @return its difficulty.
+     * @throws IndexOutOfBoundsException if there is no puzzle at that index.
+     * @throws IllegalStateException if the record holds no valid difficulty.
+     */
+    public Difficulty getDifficulty(int index) {
+        return readDifficulty(index, offset(index));
+    }
+
+    /**
+     * Unpacks a puzzle into two boards.
+     *
+     * @param index the index of the puzzle.
+     * @param solution the board that receives the solution.
+     * @param puzzle the board that receives the puzzle.
+     * @return the difficulty of the puzzle.
+     * @throws IndexOutOfBoundsException if there is no puzzle at that index.
+     * @throws IllegalArgumentException if a board has another geometry.
+     * @throws IllegalStateException if the record is corrupt; the boards are then left untouched.
+     */
+    public Difficulty load(int index, Board solution, Board puzzle) {
+        if (!geometry.equals(solution.getGeometry()) || !geometry.equals(puzzle.getGeometry())) {
+            throw new IllegalArgumentException("El tablero no es de " + geometry);
+        }
+        int offset = offset(index);
+        int givens = offset + 1;
+        int digits = givens + givensSize;
+        int size = geometry.getSize();
+        Difficulty difficulty = readDifficulty(index, offset);
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (readNibble(digits, cell) > size) {
+                throw corrupt(index);
+            }
+        }
+        solution.reset();
+        puzzle.reset();
+        for (int cell = 0; cell < cellCount; cell++) {
+            int digit = readNibble(digits, cell);
+            solution.place(cell / size, cell % size, digit);
+            if ((data.get(givens + (cell >> 3)) & (1 << (cell & 7))) != 0) {
+                puzzle.place(cell / size, cell % size, digit);
+            }
+        }
+        return difficulty;
+    }
+
+    /**
+     * Unpacks a random puzzle of a given difficulty.
+     * <p>
+     * The scan starts at a random index and wraps around, reading only the difficulty byte of every record it passes.
+     * </p>
+     *
+     * @param difficulty the wanted difficulty, or {@code null} for any.
+     * @param random the source of the starting index.
+     * @param solution the board that receives the solution.
+     * @param puzzle the board that receives the puzzle.
+     * @return the index of the puzzle loaded, or {@code -1} if the bank has no puzzle of that difficulty.
+     * @throws IllegalStateException if a record read is corrupt.
+     */
+    public int loadRandom(Difficulty difficulty, RandomGenerator random, Board solution, Board puzzle) {
+        if (count == 0) {
+            return -1;
+        }
+        int start = random.nextInt(count);
+        for (int i = 0; i < count; i++) {
+            int index = start + i < count ? start + i : start + i - count;
+            if (difficulty == null || getDifficulty(index) == difficulty) {
+                load(index, solution, puzzle);
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return BankFormat.HEADER_SIZE + index * recordSize;
+    }
+
+    private Difficulty readDifficulty(int index, int offset) {
+        int ordinal = data.get(offset);
+        if (ordinal < 0 || ordinal >= DIFFICULTIES.length) {
+            throw corrupt(index);
+        }
+        return DIFFICULTIES[ordinal];
+    }
+
+    /**
+     * Reads the digit packed at a nibble index of a solution, without checking it against the size.
+     */
+    private int readNibble(int digits, int cell) {
+        return ((data.get(digits + (cell >> 1)) >> ((cell & 1) << 2)) & 0xF) + 1;
+    }
+
+    private IllegalStateException corrupt(int index) {
+        return new IllegalStateException("Registro " + index + " del banco corrupto");
+    }
+}
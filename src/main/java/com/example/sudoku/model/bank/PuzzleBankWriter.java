@@ -0,0 +1,128 @@
+package com.example.sudoku.model.bank;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.rating.Difficulty;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@code PuzzleBankWriter} class streams puzzles into a bank file in the layout described by {@link BankFormat}.
+ * <p>
+ * Records are packed into a buffer and written out as it fills, so banks of any size are written with constant memory.
+ * The record count in the header is filled in when the writer is closed.
+ * </p>
+ */
+public class PuzzleBankWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final FileChannel channel;
+    private final SudokuGeometry geometry;
+    private final int cellCount;
+    private final int givensSize;
+    private final ByteBuffer buffer;
+    private final byte[] record;
+    private int count;
+
+    /**
+     * Creates a bank file, replacing any previous file at the same path.
+     *
+     * @param path the file to write.
+     * @param geometry the shape of every puzzle of the bank.
+     * @throws IOException if the file can not be created.
+     */
+    public PuzzleBankWriter(Path path, SudokuGeometry geometry) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.geometry = geometry;
+        this.cellCount = geometry.getCellCount();
+        this.givensSize = BankFormat.givensSize(geometry);
+        this.record = new byte[BankFormat.recordSize(geometry)];
+        this.buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE, record.length));
+        buffer.put(header(0));
+    }
+
+    /**
+     * Appends a puzzle to the bank.
+     *
+     * @param solution the fully solved board of the puzzle.
+     * @param puzzle the puzzle; every given must match the solution.
+     * @param difficulty the difficulty of the puzzle.
+     * @throws IOException if the file can not be written.
+     * @throws IllegalArgumentException if a board has another geometry, the solution is incomplete or a given does not
+     *                                  match it.
+     */
+    public void write(Board solution, Board puzzle, Difficulty difficulty) throws IOException {
+        if (!geometry.equals(solution.getGeometry()) || !geometry.equals(puzzle.getGeometry())) {
+            throw new IllegalArgumentException("El puzzle no es de " + geometry);
+        }
+        Arrays.fill(record, (byte) 0);
+        record[0] = (byte) difficulty.ordinal();
+        for (int cell = 0; cell < cellCount; cell++) {
+            int digit = solution.get(cell);
+            int given = puzzle.get(cell);
+            if (digit == 0 || (given != 0 && given != digit)) {
+                throw new IllegalArgumentException("La celda " + cell + " no coincide con la solución");
+            }
+            if (given != 0) {
+                record[1 + (cell >> 3)] |= (byte) (1 << (cell & 7));
+            }
+            record[1 + givensSize + (cell >> 1)] |= (byte) ((digit - 1) << ((cell & 1) << 2));
+        }
+        if (buffer.remaining() < record.length) {
+            flush();
+        }
+        buffer.put(record);
+        count++;
+    }
+
+    /**
+     * Returns the number of puzzles written so far.
+     *
+     * @return the record count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Writes the pending records and the final header, and closes the file.
+     *
+     * @throws IOException if the file can not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+            ByteBuffer header = ByteBuffer.wrap(header(count));
+            long position = 0;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private byte[] header(int records) {
+        ByteBuffer header = ByteBuffer.allocate(BankFormat.HEADER_SIZE);
+        header.putInt(BankFormat.MAGIC);
+        header.put(BankFormat.VERSION);
+        header.put((byte) geometry.getBlockRows());
+        header.put((byte) geometry.getBlockCols());
+        header.put((byte) 0);
+        header.putInt(BankFormat.COUNT_OFFSET, records);
+        return header.array();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.sudoku.model.cache;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.Canonicalizer;
+import com.example.sudoku.model.PuzzleKey;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.solver.SearchListener;
+import com.example.sudoku.model.solver.SolverStats;
+import com.example.sudoku.model.solver.SudokuSolver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code CachingSolver} class answers {@link #solve(Board)} from a {@link SolutionCache} when the same board, or a
+ * symmetric one, has been solved before, and delegates to another solver otherwise.
+ * <p>
+ * The board is reduced to its canonical form by a {@link Canonicalizer}; on a hit the cached canonical solution is
+ * mapped back onto the board through the inverse transformation, and on a miss the result of the search is stored in
+ * canonical form. Random solves and solution counts are always delegated, since their results are not a function of
+ * the board alone. Like any solver, an instance must not be shared between threads, but several instances on
+ * different threads may share one cache.
+ * </p>
+ */
+public class CachingSolver implements SudokuSolver {
+    private final SudokuSolver delegate;
+    private final SolutionCache cache;
+    private final Canonicalizer canonicalizer;
+
+    /**
+     * Constructs a caching solver.
+     *
+     * @param geometry the shape of the boards to solve.
+     * @param delegate the solver used on cache misses, for the same geometry.
+     * @param cache the cache to read and fill.
+     */
+    public CachingSolver(SudokuGeometry geometry, SudokuSolver delegate, SolutionCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.canonicalizer = new Canonicalizer(geometry);
+    }
+
+    @Override
+    public boolean solve(Board board) {
+        if (board.hasConflicts()) {
+            return false;
+        }
+        PuzzleKey key = canonicalizer.canonicalize(board);
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            if (cached.length == 0) {
+                return false;
+            }
+            canonicalizer.fromCanonical(cached, board);
+            return true;
+        }
+        boolean solved = delegate.solve(board);
+        cache.put(key, solved ? canonicalizer.toCanonical(board) : null);
+        return solved;
+    }
+
+    @Override
+    public boolean solveRandomly(Board board, RandomGenerator random) {
+        return delegate.solveRandomly(board, random);
+    }
+
+    @Override
+    public int countSolutions(Board board, int limit) {
+        return delegate.countSolutions(board, limit);
+    }
+
+    @Override
+    public SolverStats getStats() {
+        return delegate.getStats();
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        delegate.setSearchListener(listener);
+    }
+
+    /**
+     * Returns the cache this solver reads and fills.
+     *
+     * @return the cache.
+     */
+    public SolutionCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.sudoku.model.cache;
+
+import com.example.sudoku.model.PuzzleKey;
+import com.example.sudoku.model.SudokuGeometry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code SolutionCache} class is a bounded cache of search results keyed by the canonical form of the board.
+ * <p>
+ * Each entry holds the solution of a canonical board in canonical form, or the fact that the board has no solution.
+ * Entries are kept in least-recently-used order and the oldest one is evicted once the capacity is exceeded. Hits,
+ * misses and evictions are counted so the usefulness of the cache can be observed. All methods are synchronized, so a
+ * cache can be shared by the solvers of several threads.
+ * </p>
+ */
+public class SolutionCache {
+    /**
+     * The number of entries kept by the shared caches.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+    private static final byte[] UNSOLVABLE = new byte[0];
+    private static final Map<SudokuGeometry, SolutionCache> SHARED = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final LinkedHashMap<PuzzleKey, byte[]> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity the maximum number of entries.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public SolutionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidad inválida: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PuzzleKey, byte[]> eldest) {
+                if (size() > SolutionCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache shared by every game of a geometry during this run.
+     *
+     * @param geometry the shape of the boards.
+     * @return the shared cache, with {@link #DEFAULT_CAPACITY} entries.
+     */
+    public static SolutionCache forGeometry(SudokuGeometry geometry) {
+        return SHARED.computeIfAbsent(geometry, key -> new SolutionCache(DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Looks a canonical board up, counting a hit or a miss.
+     *
+     * @param key the key of the canonical board.
+     * @return {@code null} if the board is not cached, an empty array if it is known to have no solution, or its
+     *         solution in canonical form; the array must not be modified.
+     */
+    public synchronized byte[] get(PuzzleKey key) {
+        byte[] solution = entries.get(key);
+        if (solution == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return solution;
+    }
+
+    /**
+     * Stores the result of a search, evicting the least recently used entry if the cache is full.
+     *
+     * @param key the key of the canonical board.
+     * @param solution the solution in canonical form, or {@code null} if the board has no solution; the cache keeps the
+     *                 array, which must not be modified afterwards.
+     */
+    public synchronized void put(PuzzleKey key, byte[] solution) {
+        entries.put(key, solution == null ? UNSOLVABLE : solution);
+    }
+
+    /**
+     * Removes every entry; the counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the current size, never more than the capacity.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of lookups that found an entry.
+     *
+     * @return the hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that found no entry.
+     *
+     * @return the misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries dropped to stay within the capacity.
+     *
+     * @return the evictions.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "size=" + entries.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses + ", evictions="
+                + evictions;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.sudoku.model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code Histogram} class counts non-negative values, such as latencies in nanoseconds or search nodes, in
+ * log-linear buckets, so that percentiles can be read at any time without keeping the values.
+ * <p>
+ * Values below {@code 2 * }{@value #SUB_BUCKETS} have a bucket each. Above that, every power of two is split into
+ * {@value #SUB_BUCKETS} buckets of equal width, so a percentile is never off by more than about 3% of its value,
+ * whatever its magnitude, and the whole range of a {@code long} fits in under two thousand counters.
+ * </p>
+ * <p>
+ * Recording is lock-free: it is one atomic increment of a counter found with a few shifts, plus a maximum kept with a
+ * compare-and-set that almost always succeeds at once. Any number of threads can record at the same time while
+ * another one reads; a reading taken during recording may miss the values still being recorded, but is never
+ * inconsistent with itself beyond that.
+ * </p>
+ */
+public final class Histogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value; negative values are counted as {@code 0}.
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(clamped));
+        total.add(clamped);
+        long seen = max.get();
+        while (clamped > seen && !max.compareAndSet(seen, clamped)) {
+            seen = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the count.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            count += counts.get(bucket);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     *
+     * @return the mean, or {@code 0} if nothing was recorded.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : total.doubleValue() / count;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the maximum, or {@code 0} if nothing was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns a percentile of the values recorded, by the nearest-rank method: the highest value of the bucket that
+     * holds the value of that rank, capped at the maximum.
+     *
+     * @param percent the percentile, between {@code 0} and {@code 100}.
+     * @return the percentile, or {@code 0} if nothing was recorded.
+     */
+    public long getPercentile(double percent) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(highestOf(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Forgets every value recorded. Values recorded by other threads during the reset may be kept or lost.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long highestOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
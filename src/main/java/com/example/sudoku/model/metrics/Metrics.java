@@ -0,0 +1,208 @@
+package com.example.sudoku.model.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code Metrics} class records, for the whole run, how long each {@link Operation} takes and how many nodes the
+ * solvability searches visit.
+ * <p>
+ * Recording is off unless the {@code sudoku.metrics} system property is {@code true}, or it is turned on from the
+ * diagnostics overlay or over JMX. An instrumented call reads the time with {@link #start()} and hands it back with
+ * {@link #stop(Operation, long)}; while recording is off, {@link #start()} returns {@link #OFF} without reading the
+ * clock and {@link #stop(Operation, long)} returns at once, so the cost is one read of a flag and one comparison.
+ * Values go into one lock-free {@link Histogram} per operation, so any thread can record without contention.
+ * </p>
+ * <pre>
+ * long start = Metrics.start();
+ * ...
+ * Metrics.stop(Operation.SOLVABLE, start);
+ * </pre>
+ */
+public final class Metrics {
+    /**
+     * The start time returned by {@link #start()} while recording is off.
+     */
+    public static final long OFF = Long.MIN_VALUE;
+    /**
+     * The JMX name of the {@link MetricsMXBean}.
+     */
+    public static final String OBJECT_NAME = "com.example.sudoku:type=Metrics";
+    private static final Map<Operation, Histogram> LATENCIES = new EnumMap<>(Operation.class);
+    private static final Histogram NODES = new Histogram();
+    private static volatile boolean enabled = Boolean.getBoolean("sudoku.metrics");
+    private static boolean registered;
+
+    static {
+        for (Operation operation : Operation.values()) {
+            LATENCIES.put(operation, new Histogram());
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Reads the clock at the start of an operation, if recording is on.
+     *
+     * @return the current {@link System#nanoTime()}, or {@link #OFF}.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : OFF;
+    }
+
+    /**
+     * Records the latency of an operation started with {@link #start()}.
+     *
+     * @param operation the operation that ended.
+     * @param start the value returned by {@link #start()}; nothing is recorded if it is {@link #OFF}.
+     */
+    public static void stop(Operation operation, long start) {
+        if (start != OFF) {
+            LATENCIES.get(operation).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the number of nodes visited by one solvability search, if recording is on.
+     *
+     * @param nodes the nodes visited.
+     */
+    public static void recordNodes(long nodes) {
+        if (enabled) {
+            NODES.record(nodes);
+        }
+    }
+
+    /**
+     * Tells whether recording is on.
+     *
+     * @return {@code true} if latencies and node counts are being recorded.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. What was recorded so far is kept.
+     *
+     * @param enabled whether to record.
+     */
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Returns the latencies recorded for an operation.
+     *
+     * @param operation the operation.
+     * @return the live histogram of its latencies, in nanoseconds.
+     */
+    public static Histogram getLatencies(Operation operation) {
+        return LATENCIES.get(operation);
+    }
+
+    /**
+     * Returns the nodes recorded per solvability search.
+     *
+     * @return the live histogram of the nodes per search.
+     */
+    public static Histogram getNodes() {
+        return NODES;
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public static void reset() {
+        for (Histogram histogram : LATENCIES.values()) {
+            histogram.reset();
+        }
+        NODES.reset();
+    }
+
+    /**
+     * Registers the {@link MetricsMXBean} with the platform MBean server, the first time it is called.
+     *
+     * @throws IllegalStateException if the server refuses the bean.
+     */
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+            registered = true;
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron publicar las métricas por JMX", e);
+        }
+    }
+
+    private static Map<String, Double> micros(double percent) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        LATENCIES.forEach((operation, histogram) ->
+                values.put(operation.getLabel(), histogram.getPercentile(percent) / 1e3));
+        return values;
+    }
+
+    /**
+     * The JMX view of the recorders.
+     */
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            LATENCIES.forEach((operation, histogram) -> counts.put(operation.getLabel(), histogram.getCount()));
+            return counts;
+        }
+
+        @Override
+        public Map<String, Double> getMedianMicros() {
+            return micros(50);
+        }
+
+        @Override
+        public Map<String, Double> getP99Micros() {
+            return micros(99);
+        }
+
+        @Override
+        public Map<String, Double> getMaxMicros() {
+            return micros(100);
+        }
+
+        @Override
+        public long getSearches() {
+            return NODES.getCount();
+        }
+
+        @Override
+        public long getMedianNodes() {
+            return NODES.getPercentile(50);
+        }
+
+        @Override
+        public long getP99Nodes() {
+            return NODES.getPercentile(99);
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.sudoku.model.metrics;
+
+import java.util.Map;
+
+/**
+ * The {@code MetricsMXBean} interface is the JMX view of {@link Metrics}, registered as
+ * {@value Metrics#OBJECT_NAME}.
+ * <p>
+ * Latencies are keyed by the label of each {@link Operation} and given in microseconds; node counts are per search.
+ * </p>
+ */
+public interface MetricsMXBean {
+    /**
+     * Tells whether latencies and node counts are being recorded.
+     *
+     * @return {@code true} if recording is on.
+     */
+    boolean isEnabled();
+
+    /**
+     * Turns recording on or off.
+     *
+     * @param enabled whether to record.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the number of times each operation was recorded.
+     *
+     * @return the counts by operation.
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * Returns the median latency of each operation.
+     *
+     * @return the 50th percentiles by operation, in microseconds.
+     */
+    Map<String, Double> getMedianMicros();
+
+    /**
+     * Returns the 99th percentile latency of each operation.
+     *
+     * @return the 99th percentiles by operation, in microseconds.
+     */
+    Map<String, Double> getP99Micros();
+
+    /**
+     * Returns the largest latency of each operation.
+     *
+     * @return the maxima by operation, in microseconds.
+     */
+    Map<String, Double> getMaxMicros();
+
+    /**
+     * Returns the number of solver searches recorded.
+     *
+     * @return the searches.
+     */
+    long getSearches();
+
+    /**
+     * Returns the median number of nodes visited by a search.
+     *
+     * @return the 50th percentile of the nodes per search.
+     */
+    long getMedianNodes();
+
+    /**
+     * Returns the 99th percentile of the number of nodes visited by a search.
+     *
+     * @return the 99th percentile of the nodes per search.
+     */
+    long getP99Nodes();
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    void reset();
+}
@@ -0,0 +1,59 @@
+package com.example.sudoku.model.metrics;
+
+/**
+ * The {@code Operation} enum lists the operations whose latency is recorded by {@link Metrics}, each with the name
+ * shown in the diagnostics overlay and over JMX.
+ */
+public enum Operation {
+    /**
+     * A whole keystroke in the view: the session update and the restyling of the cells it changed.
+     */
+    KEYSTROKE("tecla"),
+    /**
+     * Checking whether a number repeats in its row, column or block.
+     */
+    VALIDATE("validar"),
+    /**
+     * Answering whether the board can still be solved, searching only when the answer is not cached.
+     */
+    SOLVABLE("resoluble"),
+    /**
+     * Checking whether the board is complete and correct.
+     */
+    SOLVED("resuelto"),
+    /**
+     * A solvability check run on a background thread.
+     */
+    CHECK("comprobación"),
+    /**
+     * Filling a cell as a hint.
+     */
+    HINT("pista"),
+    /**
+     * Restyling the cells changed by an edit.
+     */
+    RESTYLE("estilos"),
+    /**
+     * Generating a solved board.
+     */
+    GENERATE("generar"),
+    /**
+     * Removing clues from a solved board to create a puzzle.
+     */
+    DIG("crear puzzle");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the name shown for the operation.
+     *
+     * @return the label.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.sudoku.model.rating;
+
+/**
+ * The {@code Difficulty} enum groups puzzles by the hardest solving technique they require.
+ */
+public enum Difficulty {
+    /**
+     * Solvable with naked and hidden singles only.
+     */
+    EASY("Fácil"),
+    /**
+     * Needs locked candidates or naked pairs.
+     */
+    MEDIUM("Medio"),
+    /**
+     * Needs hidden pairs or an X-Wing.
+     */
+    HARD("Difícil"),
+    /**
+     * Can not be finished with the techniques known to the {@link DifficultyRater}.
+     */
+    EXPERT("Experto");
+
+    private final String label;
+
+    Difficulty(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the name of the difficulty as shown to the player.
+     *
+     * @return the display label.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,458 @@
+package com.example.sudoku.model.rating;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+
+import java.util.Arrays;
+
+/**
+ * The {@code DifficultyRater} class rates a puzzle by solving it the way a person would.
+ * <p>
+ * The rater keeps a candidate bitmask per cell and repeatedly applies the easiest {@link Technique} that makes progress,
+ * going back to the easiest one after every success. The difficulty of the puzzle is that of the hardest technique it
+ * needed, or {@link Difficulty#EXPERT} if the ladder runs out before the board is complete. Every technique works on
+ * the bitmasks only and nothing is allocated but the returned rating, so a 9x9 puzzle is rated in tens of
+ * microseconds and generators can afford to rate thousands of candidates per second.
+ * </p>
+ * <p>
+ * The same ladder also finds hints: {@link #hint(Board)} stops at the first cell it can deduce instead of filling the
+ * board. A rater owns scratch state and must not be shared between threads.
+ * </p>
+ */
+public class DifficultyRater {
+    private static final Technique[] TECHNIQUES = Technique.values();
+    private static final int UNSOLVED_PENALTY = 10;
+    private final int size;
+    private final int cellCount;
+    private final int[][] units;
+    private final int[][] peers;
+    private final int[] blockOfCell;
+    private final int[] positions;
+    private final int[] values;
+    private final int[] candidates;
+    private final int[] uses = new int[TECHNIQUES.length];
+    private int remaining;
+    private boolean broken;
+
+    /**
+     * Constructs a rater for puzzles of the given geometry.
+     *
+     * @param geometry the shape of the puzzles to rate.
+     */
+    public DifficultyRater(SudokuGeometry geometry) {
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.units = geometry.getUnits();
+        this.peers = geometry.getPeers();
+        this.values = new int[cellCount];
+        this.candidates = new int[cellCount];
+        this.blockOfCell = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            blockOfCell[cell] = geometry.blockIndex(cell / size, cell % size);
+        }
+        this.positions = new int[size + 1];
+    }
+
+    /**
+     * Rates a puzzle.
+     *
+     * @param puzzle the puzzle to rate; it is not modified.
+     * @return the difficulty, score and techniques of the puzzle.
+     */
+    public PuzzleRating rate(Board puzzle) {
+        load(puzzle);
+        while (remaining > 0 && !broken && step()) {
+            // every successful step restarts from the easiest technique
+        }
+        Difficulty difficulty = Difficulty.EASY;
+        int score = remaining * UNSOLVED_PENALTY;
+        for (Technique technique : TECHNIQUES) {
+            int count = uses[technique.ordinal()];
+            score += count * technique.getWeight();
+            if (count > 0 && technique.getDifficulty().compareTo(difficulty) > 0) {
+                difficulty = technique.getDifficulty();
+            }
+        }
+        if (remaining > 0) {
+            difficulty = Difficulty.EXPERT;
+        }
+        return new PuzzleRating(difficulty, score, uses.clone());
+    }
+
+    /**
+     * Finds the easiest cell that can be deduced from a board, without filling anything.
+     * <p>
+     * Naked and hidden singles are looked for first. When there is none, the elimination techniques are applied one
+     * at a time, easiest first, and the singles are looked for again after each of them, so the hint relies on as
+     * little as possible. A board with only singles left is answered with a single scan of the cells.
+     * </p>
+     *
+     * @param board a board without conflicting entries; it is not modified.
+     * @return the hint, or {@code null} if the board is complete, contradictory or beyond the known techniques.
+     */
+    public Hint hint(Board board) {
+        load(board);
+        Technique needed = null;
+        while (remaining > 0 && !broken) {
+            Hint single = findSingle(needed);
+            if (single != null) {
+                return single;
+            }
+            Technique eliminated = eliminateOnce();
+            if (eliminated == null) {
+                return null;
+            }
+            if (needed == null || eliminated.compareTo(needed) > 0) {
+                needed = eliminated;
+            }
+        }
+        return null;
+    }
+
+    private void load(Board puzzle) {
+        Arrays.fill(uses, 0);
+        remaining = 0;
+        broken = false;
+        for (int cell = 0; cell < cellCount; cell++) {
+            values[cell] = puzzle.get(cell);
+            if (values[cell] == 0) {
+                candidates[cell] = puzzle.candidates(cell);
+                remaining++;
+            } else {
+                candidates[cell] = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the first naked single, or else the first hidden single, credited to the given elimination technique if
+     * one was needed to reveal it.
+     */
+    private Hint findSingle(Technique needed) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            int mask = candidates[cell];
+            if (values[cell] == 0 && mask != 0 && (mask & (mask - 1)) == 0) {
+                return new Hint(cell, Integer.numberOfTrailingZeros(mask),
+                        needed == null ? Technique.NAKED_SINGLE : needed);
+            }
+        }
+        for (int[] unit : units) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : unit) {
+                int mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+            }
+            int hidden = once & ~twice;
+            if (hidden == 0) {
+                continue;
+            }
+            int bit = Integer.lowestOneBit(hidden);
+            for (int cell : unit) {
+                if ((candidates[cell] & bit) != 0) {
+                    return new Hint(cell, Integer.numberOfTrailingZeros(bit),
+                            needed == null ? Technique.HIDDEN_SINGLE : needed);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies the easiest elimination technique that removes a candidate.
+     *
+     * @return the technique applied, or {@code null} if none made progress.
+     */
+    private Technique eliminateOnce() {
+        if (pointing()) {
+            return Technique.POINTING;
+        }
+        if (claiming()) {
+            return Technique.CLAIMING;
+        }
+        if (nakedPairs()) {
+            return Technique.NAKED_PAIR;
+        }
+        if (hiddenPairs()) {
+            return Technique.HIDDEN_PAIR;
+        }
+        return xWings() ? Technique.X_WING : null;
+    }
+
+    private boolean step() {
+        return nakedSingles() || hiddenSingles() || pointing() || claiming() || nakedPairs() || hiddenPairs()
+                || xWings();
+    }
+
+    private void place(int cell, int digit) {
+        int bit = 1 << digit;
+        values[cell] = digit;
+        candidates[cell] = 0;
+        remaining--;
+        for (int peer : peers[cell]) {
+            if (values[peer] == 0 && (candidates[peer] &= ~bit) == 0) {
+                broken = true;
+            }
+        }
+    }
+
+    private boolean eliminate(int cell, int mask) {
+        if (values[cell] != 0 || (candidates[cell] & mask) == 0) {
+            return false;
+        }
+        candidates[cell] &= ~mask;
+        if (candidates[cell] == 0) {
+            broken = true;
+        }
+        return true;
+    }
+
+    private boolean nakedSingles() {
+        boolean progress = false;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int mask = candidates[cell];
+            if (values[cell] == 0 && mask != 0 && (mask & (mask - 1)) == 0) {
+                place(cell, Integer.numberOfTrailingZeros(mask));
+                uses[Technique.NAKED_SINGLE.ordinal()]++;
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    private boolean hiddenSingles() {
+        boolean progress = false;
+        for (int[] unit : units) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : unit) {
+                int mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+            }
+            int hidden = once & ~twice;
+            if (hidden == 0) {
+                continue;
+            }
+            int bit = Integer.lowestOneBit(hidden);
+            for (int cell : unit) {
+                if ((candidates[cell] & bit) != 0) {
+                    place(cell, Integer.numberOfTrailingZeros(bit));
+                    uses[Technique.HIDDEN_SINGLE.ordinal()]++;
+                    progress = true;
+                    break;
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Locked candidates, pointing: a digit confined to one row or column inside a block.
+     */
+    private boolean pointing() {
+        boolean progress = false;
+        for (int block = 0; block < size; block++) {
+            int[] blockCells = units[2 * size + block];
+            for (int digit = 1; digit <= size; digit++) {
+                int bit = 1 << digit;
+                int row = -1;
+                int col = -1;
+                boolean sameRow = true;
+                boolean sameCol = true;
+                for (int cell : blockCells) {
+                    if ((candidates[cell] & bit) == 0) {
+                        continue;
+                    }
+                    if (row == -1) {
+                        row = cell / size;
+                        col = cell % size;
+                    } else {
+                        sameRow &= cell / size == row;
+                        sameCol &= cell % size == col;
+                    }
+                }
+                if (row == -1 || (!sameRow && !sameCol)) {
+                    continue;
+                }
+                boolean changed = false;
+                int[] line = sameRow ? units[row] : units[size + col];
+                for (int cell : line) {
+                    if (blockOfCell[cell] != block) {
+                        changed |= eliminate(cell, bit);
+                    }
+                }
+                if (changed) {
+                    uses[Technique.POINTING.ordinal()]++;
+                    progress = true;
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Locked candidates, claiming: a digit confined to one block inside a row or column.
+     */
+    private boolean claiming() {
+        boolean progress = false;
+        for (int line = 0; line < 2 * size; line++) {
+            int[] lineCells = units[line];
+            for (int digit = 1; digit <= size; digit++) {
+                int bit = 1 << digit;
+                int block = -1;
+                boolean sameBlock = true;
+                for (int cell : lineCells) {
+                    if ((candidates[cell] & bit) == 0) {
+                        continue;
+                    }
+                    int cellBlock = blockOfCell[cell];
+                    if (block == -1) {
+                        block = cellBlock;
+                    } else if (cellBlock != block) {
+                        sameBlock = false;
+                        break;
+                    }
+                }
+                if (block == -1 || !sameBlock) {
+                    continue;
+                }
+                boolean changed = false;
+                for (int cell : units[2 * size + block]) {
+                    boolean onLine = line < size ? cell / size == line : cell % size == line - size;
+                    if (!onLine) {
+                        changed |= eliminate(cell, bit);
+                    }
+                }
+                if (changed) {
+                    uses[Technique.CLAIMING.ordinal()]++;
+                    progress = true;
+                }
+            }
+        }
+        return progress;
+    }
+
+    private boolean nakedPairs() {
+        boolean progress = false;
+        for (int[] unit : units) {
+            for (int i = 0; i < size; i++) {
+                int pair = candidates[unit[i]];
+                if (values[unit[i]] != 0 || Integer.bitCount(pair) != 2) {
+                    continue;
+                }
+                for (int j = i + 1; j < size; j++) {
+                    if (candidates[unit[j]] != pair || values[unit[j]] != 0) {
+                        continue;
+                    }
+                    boolean changed = false;
+                    for (int k = 0; k < size; k++) {
+                        if (k != i && k != j) {
+                            changed |= eliminate(unit[k], pair);
+                        }
+                    }
+                    if (changed) {
+                        uses[Technique.NAKED_PAIR.ordinal()]++;
+                        progress = true;
+                    }
+                    break;
+                }
+            }
+        }
+        return progress;
+    }
+
+    private boolean hiddenPairs() {
+        boolean progress = false;
+        for (int[] unit : units) {
+            Arrays.fill(positions, 0);
+            for (int i = 0; i < size; i++) {
+                int mask = candidates[unit[i]];
+                while (mask != 0) {
+                    int digit = Integer.numberOfTrailingZeros(mask);
+                    mask &= mask - 1;
+                    positions[digit] |= 1 << i;
+                }
+            }
+            for (int first = 1; first < size; first++) {
+                if (Integer.bitCount(positions[first]) != 2) {
+                    continue;
+                }
+                for (int second = first + 1; second <= size; second++) {
+                    if (positions[second] != positions[first]) {
+                        continue;
+                    }
+                    int keep = (1 << first) | (1 << second);
+                    boolean changed = false;
+                    int cells = positions[first];
+                    while (cells != 0) {
+                        int i = Integer.numberOfTrailingZeros(cells);
+                        cells &= cells - 1;
+                        changed |= eliminate(unit[i], ~keep);
+                    }
+                    if (changed) {
+                        uses[Technique.HIDDEN_PAIR.ordinal()]++;
+                        progress = true;
+                    }
+                }
+            }
+        }
+        return progress;
+    }
+
+    private boolean xWings() {
+        return xWings(0) || xWings(size);
+    }
+
+    /**
+     * Looks for X-Wings whose base lines are the rows ({@code offset == 0}) or the columns ({@code offset == size}).
+     */
+    private boolean xWings(int offset) {
+        boolean progress = false;
+        int coverOffset = offset == 0 ? size : 0;
+        for (int digit = 1; digit <= size; digit++) {
+            int bit = 1 << digit;
+            for (int line = 0; line < size; line++) {
+                int mask = 0;
+                int[] cells = units[offset + line];
+                for (int i = 0; i < size; i++) {
+                    if ((candidates[cells[i]] & bit) != 0) {
+                        mask |= 1 << i;
+                    }
+                }
+                positions[line] = mask;
+            }
+            for (int first = 0; first < size - 1; first++) {
+                if (Integer.bitCount(positions[first]) != 2) {
+                    continue;
+                }
+                for (int second = first + 1; second < size; second++) {
+                    if (positions[second] != positions[first]) {
+                        continue;
+                    }
+                    boolean changed = false;
+                    int covers = positions[first];
+                    while (covers != 0) {
+                        int cover = Integer.numberOfTrailingZeros(covers);
+                        covers &= covers - 1;
+                        int[] coverCells = units[coverOffset + cover];
+                        for (int i = 0; i < size; i++) {
+                            if (i != first && i != second) {
+                                changed |= eliminate(coverCells[i], bit);
+                            }
+                        }
+                    }
+                    if (changed) {
+                        uses[Technique.X_WING.ordinal()]++;
+                        progress = true;
+                    }
+                }
+            }
+            if (progress) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.sudoku.model.rating;
+
+/**
+ * The {@code Hint} class is a cell that can be deduced from the current board, found by the {@link DifficultyRater}.
+ */
+public final class Hint {
+    private final int cell;
+    private final int digit;
+    private final Technique technique;
+
+    Hint(int cell, int digit, Technique technique) {
+        this.cell = cell;
+        this.digit = digit;
+        this.technique = technique;
+    }
+
+    /**
+     * Returns the cell that can be filled.
+     *
+     * @return the row-major index of the cell.
+     */
+    public int getCell() {
+        return cell;
+    }
+
+    /**
+     * Returns the digit that goes in the cell.
+     *
+     * @return the digit.
+     */
+    public int getDigit() {
+        return digit;
+    }
+
+    /**
+     * Returns the hardest technique needed to deduce the cell: the single that fills it, or the hardest elimination that
+     * had to be applied first for the single to appear.
+     *
+     * @return the technique that justifies the hint.
+     */
+    public Technique getTechnique() {
+        return technique;
+    }
+
+    @Override
+    public String toString() {
+        return cell + "=" + digit + " (" + technique + ")";
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.sudoku.model.rating;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * The {@code HintEngine} class finds the next logically deducible cell of a game, optionally working ahead in the
+ * background.
+ * <p>
+ * Hints come from {@link DifficultyRater#hint(Board)}, which reads the candidate bitmasks kept by the {@link Board}
+ * and answers in microseconds. When an {@link Executor} is given, {@link #prefetch(Board, long)} computes the hint for
+ * a snapshot of the board on that executor right after each edit, while the player is thinking, and
+ * {@link #next(Board, long)} returns it without any work if the board has not changed since. A hint that is not ready
+ * yet is never waited for: it is computed on the calling thread instead.
+ * </p>
+ * <p>
+ * Apart from the background task itself, an engine must only be used by one thread.
+ * </p>
+ */
+public class HintEngine {
+    private final SudokuGeometry geometry;
+    private final DifficultyRater rater;
+    private final Executor background;
+    private final DifficultyRater backgroundRater;
+    private FutureTask<Hint> prefetched;
+    private long prefetchedVersion = -1;
+
+    /**
+     * Constructs an engine that computes every hint on the calling thread.
+     *
+     * @param geometry the shape of the boards.
+     */
+    public HintEngine(SudokuGeometry geometry) {
+        this(geometry, null);
+    }
+
+    /**
+     * Constructs an engine that can compute hints ahead of time.
+     *
+     * @param geometry the shape of the boards.
+     * @param background the executor for {@link #prefetch(Board, long)}, or {@code null} to disable it.
+     */
+    public HintEngine(SudokuGeometry geometry, Executor background) {
+        this.geometry = geometry;
+        this.rater = new DifficultyRater(geometry);
+        this.background = background;
+        this.backgroundRater = background == null ? null : new DifficultyRater(geometry);
+    }
+
+    /**
+     * Starts computing the hint for the board as it is now, unless it is already being computed for this version.
+     * Does nothing when the engine has no executor.
+     *
+     * @param board the board; a snapshot is taken, so it may keep changing.
+     * @param version a number that changes with every edit of the board.
+     */
+    public void prefetch(Board board, long version) {
+        if (background == null || (prefetched != null && prefetchedVersion == version)) {
+            return;
+        }
+        if (prefetched != null) {
+            prefetched.cancel(false);
+        }
+        Board snapshot = new Board(geometry);
+        snapshot.copyFrom(board);
+        prefetched = new FutureTask<>(() -> {
+            synchronized (backgroundRater) {
+                return backgroundRater.hint(snapshot);
+            }
+        });
+        prefetchedVersion = version;
+        background.execute(prefetched);
+    }
+
+    /**
+     * Returns the hint for the board, taken from the background computation when it is finished and still describes
+     * the same version of the board.
+     *
+     * @param board the board, without conflicting entries.
+     * @param version the number passed to {@link #prefetch(Board, long)} for this state of the board.
+     * @return the hint, or {@code null} if no cell can be deduced.
+     */
+    public Hint next(Board board, long version) {
+        if (prefetched != null && prefetchedVersion == version && prefetched.isDone() && !prefetched.isCancelled()) {
+            try {
+                return prefetched.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // computed again below
+            }
+        }
+        return rater.hint(board);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sudoku.model.rating;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The {@code PuzzleRating} class is the outcome of rating a puzzle with the {@link DifficultyRater}.
+ */
+public final class PuzzleRating {
+    private static final Technique[] TECHNIQUES = Technique.values();
+    private final Difficulty difficulty;
+    private final int score;
+    private final int[] uses;
+
+    PuzzleRating(Difficulty difficulty, int score, int[] uses) {
+        this.difficulty = difficulty;
+        this.score = score;
+        this.uses = uses;
+    }
+
+    /**
+     * Returns the difficulty of the puzzle.
+     *
+     * @return the difficulty level.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the score of the puzzle: the sum of the weights of every technique application, plus a penalty per cell
+     * left unsolved when the techniques ran out.
+     *
+     * @return the difficulty score; higher is harder.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns how many times a technique was applied while rating.
+     *
+     * @param technique the technique to look up.
+     * @return the number of applications.
+     */
+    public int getUses(Technique technique) {
+        return uses[technique.ordinal()];
+    }
+
+    /**
+     * Returns the techniques that were needed at least once.
+     *
+     * @return a new set with the techniques used.
+     */
+    public Set<Technique> getTechniques() {
+        EnumSet<Technique> techniques = EnumSet.noneOf(Technique.class);
+        for (Technique technique : TECHNIQUES) {
+            if (uses[technique.ordinal()] > 0) {
+                techniques.add(technique);
+            }
+        }
+        return techniques;
+    }
+
+    @Override
+    public String toString() {
+        return difficulty + " (" + score + ") " + getTechniques();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.sudoku.model.rating;
+
+/**
+ * The {@code Technique} enum lists the human solving techniques known to the {@link DifficultyRater}, from the easiest
+ * to the hardest.
+ * <p>
+ * Each technique carries the {@link Difficulty} a puzzle reaches when it needs it, a weight added to the score of the
+ * puzzle every time it is applied, and the name shown to the player when a {@link Hint} relies on it.
+ * </p>
+ */
+public enum Technique {
+    /**
+     * A cell with a single candidate.
+     */
+    NAKED_SINGLE(Difficulty.EASY, 1, "Candidato único"),
+    /**
+     * A digit that fits in a single cell of a unit.
+     */
+    HIDDEN_SINGLE(Difficulty.EASY, 2, "Único lugar posible"),
+    /**
+     * The candidates of a digit in a block lie on one line, so the digit leaves the rest of that line.
+     */
+    POINTING(Difficulty.MEDIUM, 6, "Candidatos bloqueados en una línea"),
+    /**
+     * The candidates of a digit in a line lie in one block, so the digit leaves the rest of that block.
+     */
+    CLAIMING(Difficulty.MEDIUM, 6, "Candidatos bloqueados en un bloque"),
+    /**
+     * Two cells of a unit share the same two candidates, which leave the rest of the unit.
+     */
+    NAKED_PAIR(Difficulty.MEDIUM, 8, "Par desnudo"),
+    /**
+     * Two digits fit in the same two cells of a unit only, so those cells lose every other candidate.
+     */
+    HIDDEN_PAIR(Difficulty.HARD, 12, "Par oculto"),
+    /**
+     * A digit confined to the same two columns in two rows (or the same two rows in two columns) leaves the rest of
+     * those columns (or rows).
+     */
+    X_WING(Difficulty.HARD, 20, "X-Wing");
+
+    private final Difficulty difficulty;
+    private final int weight;
+    private final String label;
+
+    Technique(Difficulty difficulty, int weight, String label) {
+        this.difficulty = difficulty;
+        this.weight = weight;
+        this.label = label;
+    }
+
+    /**
+     * Returns the difficulty of a puzzle that needs this technique.
+     *
+     * @return the difficulty level.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the score added for each application of this technique.
+     *
+     * @return the weight.
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the name of the technique as shown to the player.
+     *
+     * @return the display label.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code BacktrackingSolver} class is the depth-first search used by {@link com.example.sudoku.model.Sudoku}.
+ * <p>
+ * It works directly on the bitmasks kept by {@link Board} and always branches where the board leaves the fewest
+ * options, either a cell with few candidates or a digit with a single place in a unit. Every unit is checked for digits
+ * that no longer fit anywhere, so dead ends are detected before descending into them.
+ * </p>
+ */
+public class BacktrackingSolver implements SudokuSolver {
+    static final int FULL = -1;
+    static final int DEAD_END = -2;
+    private final SudokuGeometry geometry;
+    private final int size;
+    private final int allDigits;
+    private final int[][] digitOrder;
+    private final SolverStats stats = new SolverStats();
+    private SearchListener listener = SearchListener.NONE;
+    private boolean tracing;
+    private RandomGenerator random;
+    private int solutions;
+    private int limit;
+
+    /**
+     * Constructs a solver for boards of the given geometry.
+     *
+     * @param geometry the shape of the boards to solve.
+     */
+    public BacktrackingSolver(SudokuGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.allDigits = ((1 << size) - 1) << 1;
+        this.digitOrder = new int[geometry.getCellCount() + 1][size];
+        for (int[] digits : digitOrder) {
+            for (int i = 0; i < size; i++) {
+                digits[i] = i + 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean solve(Board board) {
+        random = null;
+        return run(board);
+    }
+
+    @Override
+    public boolean solveRandomly(Board board, RandomGenerator random) {
+        this.random = random;
+        try {
+            return run(board);
+        } finally {
+            this.random = null;
+        }
+    }
+
+    @Override
+    public int countSolutions(Board board, int limit) {
+        this.solutions = 0;
+        this.limit = limit;
+        if (tracing) {
+            listener.searchStarted(board);
+        }
+        if (limit > 0 && !board.hasConflicts()) {
+            count(board, 0);
+        }
+        if (tracing) {
+            listener.searchFinished(solutions);
+        }
+        return solutions;
+    }
+
+    @Override
+    public SolverStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = Objects.requireNonNull(listener);
+        this.tracing = listener != SearchListener.NONE;
+    }
+
+    private boolean run(Board board) {
+        if (tracing) {
+            listener.searchStarted(board);
+        }
+        boolean solved = !board.hasConflicts() && search(board, 0);
+        if (tracing) {
+            listener.searchFinished(solved ? 1 : 0);
+        }
+        return solved;
+    }
+
+    private boolean search(Board board, int depth) {
+        stats.nodes++;
+        if (tracing) {
+            listener.nodeExpanded(depth);
+        }
+        int branch = findBranch(board);
+        if (branch == FULL) {
+            if (tracing) {
+                listener.solutionFound(1);
+            }
+            return true;
+        }
+        if (branch == DEAD_END) {
+            return false;
+        }
+        int row = (branch & 0xFF) / size;
+        int col = (branch & 0xFF) % size;
+        int candidates = branch >>> 8;
+        if (random != null) {
+            int[] numbers = digitOrder[depth];
+            shuffle(numbers);
+            for (int num : numbers) {
+                if ((candidates & (1 << num)) != 0) {
+                    board.place(row, col, num);
+                    if (search(board, depth + 1)) {
+                        return true;
+                    }
+                    board.clear(row, col);
+                    stats.backtracks++;
+                    if (tracing) {
+                        listener.backtracked(depth);
+                    }
+                }
+            }
+            return false;
+        }
+        while (candidates != 0) {
+            int num = Integer.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            board.place(row, col, num);
+            if (search(board, depth + 1)) {
+                return true;
+            }
+            board.clear(row, col);
+            stats.backtracks++;
+            if (tracing) {
+                listener.backtracked(depth);
+            }
+        }
+        return false;
+    }
+
+    private void count(Board board, int depth) {
+        stats.nodes++;
+        if (tracing) {
+            listener.nodeExpanded(depth);
+        }
+        int branch = findBranch(board);
+        if (branch == FULL) {
+            solutions++;
+            if (tracing) {
+                listener.solutionFound(solutions);
+            }
+            return;
+        }
+        if (branch == DEAD_END) {
+            return;
+        }
+        int row = (branch & 0xFF) / size;
+        int col = (branch & 0xFF) % size;
+        int candidates = branch >>> 8;
+        while (candidates != 0 && solutions < limit) {
+            int num = Integer.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            board.place(row, col, num);
+            count(board, depth + 1);
+            board.clear(row, col);
+            stats.backtracks++;
+            if (tracing) {
+                listener.backtracked(depth);
+            }
+        }
+    }
+
+    /**
+     * Chooses where the search should branch next.
+     *
+     * @param board the board to inspect.
+     * @return {@link #FULL} if the board has no empty cell, {@link #DEAD_END} if it can not be completed, or the cell
+     *         index in the low 8 bits and the digits to try in the remaining bits.
+     */
+    int findBranch(Board board) {
+        int bestCell = -1;
+        int bestMask = 0;
+        int bestCount = Integer.MAX_VALUE;
+        for (int index = 0; index < size * size; index++) {
+            if (board.get(index) != 0) {
+                continue;
+            }
+            int mask = board.candidates(index);
+            int count = Integer.bitCount(mask);
+            if (count < bestCount) {
+                if (count == 0) {
+                    return DEAD_END;
+                }
+                bestCell = index;
+                bestMask = mask;
+                bestCount = count;
+            }
+        }
+        if (bestCell == -1) {
+            return FULL;
+        }
+        if (bestCount > 1) {
+            for (int[] unit : geometry.getUnits()) {
+                int placed = 0;
+                int once = 0;
+                int twice = 0;
+                for (int index : unit) {
+                    int digit = board.get(index);
+                    if (digit != 0) {
+                        placed |= 1 << digit;
+                    } else {
+                        int mask = board.candidates(index);
+                        twice |= once & mask;
+                        once |= mask;
+                    }
+                }
+                if ((placed | once) != allDigits) {
+                    return DEAD_END;
+                }
+                int hidden = once & ~twice;
+                if (hidden != 0) {
+                    int bit = Integer.lowestOneBit(hidden);
+                    for (int index : unit) {
+                        if (board.get(index) == 0 && (board.candidates(index) & bit) != 0) {
+                            return bit << 8 | index;
+                        }
+                    }
+                }
+            }
+        }
+        return bestMask << 8 | bestCell;
+    }
+
+    private void shuffle(int[] numbers) {
+        for (int i = numbers.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = numbers[i];
+            numbers[i] = numbers[j];
+            numbers[j] = swap;
+        }
+    }
+}
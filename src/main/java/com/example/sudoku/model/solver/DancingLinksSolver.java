@@ -0,0 +1,296 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code DancingLinksSolver} class solves Sudoku as an exact cover problem with Knuth's Algorithm X.
+ * <p>
+ * Every (cell, digit) placement is a row of the cover matrix and every constraint (a cell is filled, a row, column or
+ * block holds a digit) is a column. The sparse matrix is stored in parallel {@code int} arrays of circular doubly linked
+ * nodes, built once per geometry. Each search selects the rows of the given digits, always branches on the column with
+ * the fewest remaining rows, and unlinks everything it covered on the way back, so the matrix is restored after every
+ * call and no allocation happens during a search.
+ * </p>
+ */
+public class DancingLinksSolver implements SudokuSolver {
+    private static final int ROOT = 0;
+    private final int size;
+    private final int cellCount;
+    private final int columnCount;
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] rowOf;
+    private final int[] columnSize;
+    private final int[] rowStart;
+    private final int[] chosen;
+    private final int[][] branchRows;
+    private final SolverStats stats = new SolverStats();
+    private SearchListener listener = SearchListener.NONE;
+    private boolean tracing;
+    private RandomGenerator random;
+    private int solutions;
+    private int limit;
+
+    /**
+     * Constructs a solver and its cover matrix for boards of the given geometry.
+     *
+     * @param geometry the shape of the boards to solve.
+     */
+    public DancingLinksSolver(SudokuGeometry geometry) {
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.columnCount = 4 * cellCount;
+        int rowCount = cellCount * size;
+        int nodeCount = 1 + columnCount + 4 * rowCount;
+        left = new int[nodeCount];
+        right = new int[nodeCount];
+        up = new int[nodeCount];
+        down = new int[nodeCount];
+        column = new int[nodeCount];
+        rowOf = new int[nodeCount];
+        columnSize = new int[columnCount + 1];
+        rowStart = new int[rowCount];
+        chosen = new int[cellCount];
+        branchRows = new int[cellCount][size];
+
+        for (int c = 0; c <= columnCount; c++) {
+            left[c] = c == 0 ? columnCount : c - 1;
+            right[c] = c == columnCount ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+        int node = columnCount + 1;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                int block = geometry.blockIndex(row, col);
+                for (int digit = 0; digit < size; digit++) {
+                    int matrixRow = cell * size + digit;
+                    int[] constraints = {
+                            1 + cell,
+                            1 + cellCount + row * size + digit,
+                            1 + 2 * cellCount + col * size + digit,
+                            1 + 3 * cellCount + block * size + digit
+                    };
+                    rowStart[matrixRow] = node;
+                    for (int k = 0; k < 4; k++) {
+                        int header = constraints[k];
+                        column[node] = header;
+                        rowOf[node] = matrixRow;
+                        up[node] = up[header];
+                        down[node] = header;
+                        down[up[header]] = node;
+                        up[header] = node;
+                        columnSize[header]++;
+                        left[node] = k == 0 ? node + 3 : node - 1;
+                        right[node] = k == 3 ? node - 3 : node + 1;
+                        node++;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean solve(Board board) {
+        random = null;
+        limit = 1;
+        return run(board, true);
+    }
+
+    @Override
+    public boolean solveRandomly(Board board, RandomGenerator random) {
+        this.random = random;
+        limit = 1;
+        try {
+            return run(board, true);
+        } finally {
+            this.random = null;
+        }
+    }
+
+    @Override
+    public int countSolutions(Board board, int limit) {
+        random = null;
+        this.limit = limit;
+        if (limit <= 0) {
+            return 0;
+        }
+        run(board, false);
+        return solutions;
+    }
+
+    @Override
+    public SolverStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = Objects.requireNonNull(listener);
+        this.tracing = listener != SearchListener.NONE;
+    }
+
+    /**
+     * Selects the given digits, runs the search and restores the matrix.
+     *
+     * @param board the board to solve.
+     * @param write whether the first solution found is written into the board.
+     * @return {@code true} if at least one solution was found.
+     */
+    private boolean run(Board board, boolean write) {
+        solutions = 0;
+        if (tracing) {
+            listener.searchStarted(board);
+        }
+        int givens = 0;
+        boolean consistent = true;
+        for (int cell = 0; cell < cellCount && consistent; cell++) {
+            int digit = board.get(cell);
+            if (digit == 0) {
+                continue;
+            }
+            int first = rowStart[cell * size + digit - 1];
+            if (!isAvailable(first)) {
+                consistent = false;
+                break;
+            }
+            selectRow(first);
+            chosen[givens++] = first;
+        }
+        if (consistent) {
+            search(givens, givens, board, write);
+        }
+        for (int i = givens - 1; i >= 0; i--) {
+            unselectRow(chosen[i]);
+        }
+        if (tracing) {
+            listener.searchFinished(solutions);
+        }
+        return solutions > 0;
+    }
+
+    private boolean isAvailable(int rowNode) {
+        int node = rowNode;
+        do {
+            int header = column[node];
+            if (left[right[header]] != header || down[up[node]] != node) {
+                return false;
+            }
+            node = right[node];
+        } while (node != rowNode);
+        return true;
+    }
+
+    private void search(int depth, int givens, Board board, boolean write) {
+        stats.nodes++;
+        if (tracing) {
+            listener.nodeExpanded(depth - givens);
+        }
+        if (right[ROOT] == ROOT) {
+            if (tracing) {
+                listener.solutionFound(solutions + 1);
+            }
+            if (++solutions == 1 && write) {
+                for (int i = givens; i < depth; i++) {
+                    int matrixRow = rowOf[chosen[i]];
+                    int cell = matrixRow / size;
+                    board.place(cell / size, cell % size, matrixRow % size + 1);
+                }
+            }
+            return;
+        }
+        int best = right[ROOT];
+        for (int c = right[best]; c != ROOT; c = right[c]) {
+            if (columnSize[c] < columnSize[best]) {
+                best = c;
+            }
+        }
+        if (columnSize[best] == 0) {
+            return;
+        }
+        cover(best);
+        int[] rows = branchRows[depth - givens];
+        int count = 0;
+        for (int r = down[best]; r != best; r = down[r]) {
+            rows[count++] = r;
+        }
+        if (random != null) {
+            for (int i = count - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = rows[i];
+                rows[i] = rows[j];
+                rows[j] = swap;
+            }
+        }
+        for (int i = 0; i < count && solutions < limit; i++) {
+            int r = rows[i];
+            chosen[depth] = r;
+            for (int j = right[r]; j != r; j = right[j]) {
+                cover(column[j]);
+            }
+            search(depth + 1, givens, board, write);
+            for (int j = left[r]; j != r; j = left[j]) {
+                uncover(column[j]);
+            }
+            if (solutions < limit) {
+                stats.backtracks++;
+                if (tracing) {
+                    listener.backtracked(depth - givens);
+                }
+            }
+        }
+        uncover(best);
+    }
+
+    private void selectRow(int rowNode) {
+        int node = rowNode;
+        do {
+            cover(column[node]);
+            node = right[node];
+        } while (node != rowNode);
+    }
+
+    private void unselectRow(int rowNode) {
+        int node = left[rowNode];
+        while (true) {
+            uncover(column[node]);
+            if (node == rowNode) {
+                return;
+            }
+            node = left[node];
+        }
+    }
+
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+        for (int i = down[header]; i != header; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                columnSize[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int header) {
+        for (int i = up[header]; i != header; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
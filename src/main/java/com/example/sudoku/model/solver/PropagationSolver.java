@@ -0,0 +1,310 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code PropagationSolver} class solves boards by constraint propagation with a minimum-remaining-values search.
+ * <p>
+ * The solver keeps its own candidate bitmask per cell. Every placement removes the digit from the candidates of the
+ * cell's peers; a peer left with a single candidate (a naked single) is placed right away, and once no naked single is
+ * left every unit is scanned for digits that fit in only one of its cells (hidden singles), which are placed as well.
+ * Only when propagation stalls does the search branch, on the empty cell with the fewest candidates. Changes are
+ * recorded on a trail and undone on backtrack, so nothing is allocated during a search.
+ * </p>
+ */
+public class PropagationSolver implements SudokuSolver {
+    private static final int ASSIGNED = 1 << 16;
+    private final int size;
+    private final int cellCount;
+    private final int allDigits;
+    private final int[][] units;
+    private final int[][] peers;
+    private final int[] values;
+    private final int[] candidates;
+    private final int[] trailEntry;
+    private final int[] trailMask;
+    private final int[] queue;
+    private final int[][] digitOrder;
+    private final SolverStats stats = new SolverStats();
+    private SearchListener listener = SearchListener.NONE;
+    private boolean tracing;
+    private int trailSize;
+    private int queueSize;
+    private RandomGenerator random;
+    private Board target;
+    private int solutions;
+    private int limit;
+
+    /**
+     * Constructs a solver for boards of the given geometry.
+     *
+     * @param geometry the shape of the boards to solve.
+     */
+    public PropagationSolver(SudokuGeometry geometry) {
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.allDigits = ((1 << size) - 1) << 1;
+        this.units = geometry.getUnits();
+        this.peers = geometry.getPeers();
+        this.values = new int[cellCount];
+        this.candidates = new int[cellCount];
+        int trailCapacity = cellCount * (peers[0].length + 1);
+        this.trailEntry = new int[trailCapacity];
+        this.trailMask = new int[trailCapacity];
+        this.queue = new int[cellCount];
+        this.digitOrder = new int[cellCount + 1][size];
+        for (int[] digits : digitOrder) {
+            for (int i = 0; i < size; i++) {
+                digits[i] = i + 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean solve(Board board) {
+        random = null;
+        limit = 1;
+        return run(board, true);
+    }
+
+    @Override
+    public boolean solveRandomly(Board board, RandomGenerator random) {
+        this.random = random;
+        limit = 1;
+        try {
+            return run(board, true);
+        } finally {
+            this.random = null;
+        }
+    }
+
+    @Override
+    public int countSolutions(Board board, int limit) {
+        random = null;
+        this.limit = limit;
+        if (limit <= 0) {
+            return 0;
+        }
+        run(board, false);
+        return solutions;
+    }
+
+    @Override
+    public SolverStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = Objects.requireNonNull(listener);
+        this.tracing = listener != SearchListener.NONE;
+    }
+
+    /**
+     * Loads the board into the candidate state, runs the search and optionally writes the first solution back.
+     *
+     * @param board the board to solve.
+     * @param write whether the first solution found is written into the board.
+     * @return {@code true} if at least one solution was found.
+     */
+    private boolean run(Board board, boolean write) {
+        solutions = 0;
+        trailSize = 0;
+        queueSize = 0;
+        target = write ? board : null;
+        if (tracing) {
+            listener.searchStarted(board);
+        }
+        Arrays.fill(values, 0);
+        Arrays.fill(candidates, allDigits);
+        boolean consistent = true;
+        for (int cell = 0; cell < cellCount && consistent; cell++) {
+            int digit = board.get(cell);
+            if (digit != 0) {
+                consistent = (candidates[cell] & (1 << digit)) != 0 && assign(cell, digit);
+            }
+        }
+        if (consistent) {
+            search(0);
+        }
+        target = null;
+        if (tracing) {
+            listener.searchFinished(solutions);
+        }
+        return solutions > 0;
+    }
+
+    private void search(int depth) {
+        stats.nodes++;
+        if (tracing) {
+            listener.nodeExpanded(depth);
+        }
+        if (!propagate()) {
+            return;
+        }
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (values[cell] == 0) {
+                int count = Integer.bitCount(candidates[cell]);
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+                }
+            }
+        }
+        if (best == -1) {
+            if (tracing) {
+                listener.solutionFound(solutions + 1);
+            }
+            if (++solutions == 1 && target != null) {
+                for (int cell = 0; cell < cellCount; cell++) {
+                    if (target.get(cell) == 0) {
+                        target.place(cell / size, cell % size, values[cell]);
+                    }
+                }
+            }
+            return;
+        }
+        int mask = candidates[best];
+        int mark = trailSize;
+        if (random != null) {
+            int[] numbers = digitOrder[depth];
+            for (int i = numbers.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = numbers[i];
+                numbers[i] = numbers[j];
+                numbers[j] = swap;
+            }
+            for (int i = 0; i < numbers.length && solutions < limit; i++) {
+                if ((mask & (1 << numbers[i])) != 0) {
+                    branch(best, numbers[i], mark, depth);
+                }
+            }
+            return;
+        }
+        while (mask != 0 && solutions < limit) {
+            int digit = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            branch(best, digit, mark, depth);
+        }
+    }
+
+    private void branch(int cell, int digit, int mark, int depth) {
+        queueSize = 0;
+        if (assign(cell, digit)) {
+            search(depth + 1);
+        }
+        undo(mark);
+        if (solutions < limit) {
+            stats.backtracks++;
+            if (tracing) {
+                listener.backtracked(depth);
+            }
+        }
+    }
+
+    /**
+     * Places a digit and removes it from the candidates of every peer, queueing peers left with a single candidate.
+     *
+     * @return {@code false} if some peer is left without candidates.
+     */
+    private boolean assign(int cell, int digit) {
+        trailEntry[trailSize] = cell | ASSIGNED;
+        trailMask[trailSize++] = candidates[cell];
+        values[cell] = digit;
+        candidates[cell] = 1 << digit;
+        int bit = 1 << digit;
+        for (int peer : peers[cell]) {
+            int mask = candidates[peer];
+            if ((mask & bit) == 0) {
+                continue;
+            }
+            if (values[peer] != 0) {
+                return false;
+            }
+            trailEntry[trailSize] = peer;
+            trailMask[trailSize++] = mask;
+            mask &= ~bit;
+            candidates[peer] = mask;
+            if (mask == 0) {
+                return false;
+            }
+            if ((mask & (mask - 1)) == 0) {
+                queue[queueSize++] = peer;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Places naked and hidden singles until none is left.
+     *
+     * @return {@code false} if the board turned out to be contradictory.
+     */
+    private boolean propagate() {
+        while (true) {
+            while (queueSize > 0) {
+                int cell = queue[--queueSize];
+                if (values[cell] != 0) {
+                    continue;
+                }
+                stats.propagations++;
+                if (!assign(cell, Integer.numberOfTrailingZeros(candidates[cell]))) {
+                    queueSize = 0;
+                    return false;
+                }
+            }
+            boolean placed = false;
+            for (int[] unit : units) {
+                int once = 0;
+                int twice = 0;
+                for (int cell : unit) {
+                    int mask = candidates[cell];
+                    twice |= once & mask;
+                    once |= mask;
+                }
+                if (once != allDigits) {
+                    return false;
+                }
+                int hidden = once & ~twice;
+                while (hidden != 0) {
+                    int bit = Integer.lowestOneBit(hidden);
+                    hidden &= hidden - 1;
+                    for (int cell : unit) {
+                        if ((candidates[cell] & bit) != 0) {
+                            if (values[cell] == 0) {
+                                stats.propagations++;
+                                if (!assign(cell, Integer.numberOfTrailingZeros(bit))) {
+                                    queueSize = 0;
+                                    return false;
+                                }
+                                placed = true;
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+            if (!placed && queueSize == 0) {
+                return true;
+            }
+        }
+    }
+
+    private void undo(int mark) {
+        while (trailSize > mark) {
+            int entry = trailEntry[--trailSize];
+            int cell = entry & (ASSIGNED - 1);
+            candidates[cell] = trailMask[trailSize];
+            if ((entry & ASSIGNED) != 0) {
+                values[cell] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+
+/**
+ * The {@code SearchListener} interface receives the events of the searches run by a {@link SudokuSolver}.
+ * <p>
+ * Listeners are opt-in: a solver starts with {@link #NONE} and only calls back once another listener is installed with
+ * {@link SudokuSolver#setSearchListener(SearchListener)}, so tracing costs a single field check per event while it is
+ * off. Events are delivered on the thread that runs the search, in the order they happen. Every method does nothing by
+ * default, so a listener only overrides the events it needs.
+ * </p>
+ */
+public interface SearchListener {
+    /**
+     * The listener that ignores every event, used when tracing is off.
+     */
+    SearchListener NONE = new SearchListener() {
+    };
+
+    /**
+     * Called when a solve or count starts, before any node is expanded.
+     *
+     * @param board the board being searched; it must not be modified.
+     */
+    default void searchStarted(Board board) {
+    }
+
+    /**
+     * Called every time the search visits a node.
+     *
+     * @param depth the number of branching decisions above the node.
+     */
+    default void nodeExpanded(int depth) {
+    }
+
+    /**
+     * Called when a tentative placement is undone because it led to no solution, or to no further one.
+     *
+     * @param depth the depth of the node whose placement is undone.
+     */
+    default void backtracked(int depth) {
+    }
+
+    /**
+     * Called when a solution is reached.
+     *
+     * @param solutions the number of solutions found so far by this search, including this one.
+     */
+    default void solutionFound(int solutions) {
+    }
+
+    /**
+     * Called when a solve or count ends.
+     *
+     * @param solutions the number of solutions the search found.
+     */
+    default void searchFinished(int solutions) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+
+/**
+ * The {@code SearchProfiler} class is a {@link SearchListener} that collects timings and counters over any number of
+ * searches.
+ * <p>
+ * Besides the event counts it records the wall-clock time of every search, from {@link #searchStarted(Board)} to
+ * {@link #searchFinished(int)}, and the deepest node reached. Like the solvers it listens to, it is not thread-safe; a
+ * profiler must be installed on a single solver, or on solvers that run on the same thread.
+ * </p>
+ */
+public class SearchProfiler implements SearchListener {
+    private long searches;
+    private long nodes;
+    private long backtracks;
+    private long solutions;
+    private long totalNanos;
+    private long maxNanos;
+    private int maxDepth;
+    private long started;
+
+    @Override
+    public void searchStarted(Board board) {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void nodeExpanded(int depth) {
+        nodes++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    @Override
+    public void backtracked(int depth) {
+        backtracks++;
+    }
+
+    @Override
+    public void solutionFound(int solutions) {
+        this.solutions++;
+    }
+
+    @Override
+    public void searchFinished(int solutions) {
+        long elapsed = System.nanoTime() - started;
+        searches++;
+        totalNanos += elapsed;
+        if (elapsed > maxNanos) {
+            maxNanos = elapsed;
+        }
+    }
+
+    /**
+     * Sets every counter and timing back to zero.
+     */
+    public void reset() {
+        searches = 0;
+        nodes = 0;
+        backtracks = 0;
+        solutions = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+        maxDepth = 0;
+    }
+
+    /**
+     * Returns the number of finished searches.
+     *
+     * @return the searches recorded.
+     */
+    public long getSearches() {
+        return searches;
+    }
+
+    /**
+     * Returns the number of nodes expanded.
+     *
+     * @return the nodes over every search.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of placements undone.
+     *
+     * @return the backtracks over every search.
+     */
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * Returns the number of solutions reached.
+     *
+     * @return the solutions over every search.
+     */
+    public long getSolutions() {
+        return solutions;
+    }
+
+    /**
+     * Returns the time spent searching.
+     *
+     * @return the sum of the durations of every search, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the duration of the slowest search.
+     *
+     * @return the longest search, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the depth of the deepest node expanded.
+     *
+     * @return the maximum depth over every search.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public String toString() {
+        double average = searches == 0 ? 0 : totalNanos / 1_000.0 / searches;
+        return String.format("searches=%d, avg=%.1fus, max=%.1fus, nodes=%d, backtracks=%d, solutions=%d, maxDepth=%d",
+                searches, average, maxNanos / 1_000.0, nodes, backtracks, solutions, maxDepth);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The {@code SolutionEnumerator} class counts or lists every solution of a board, using all the threads of a
+ * {@link ForkJoinPool}.
+ * <p>
+ * The search branches like the {@link BacktrackingSolver}, on the cell with the fewest candidates or on a digit with a
+ * single place in a unit. Near the root, every branch becomes a fork/join subtask with its own copy of the board, until
+ * there are about {@value #TASKS_PER_THREAD} subtasks per thread; below that, each subtask searches its subtree
+ * depth-first on its own board, so the work is split once and not per node. The subtrees of a sudoku are very uneven,
+ * and having many more subtasks than threads lets work stealing balance them.
+ * </p>
+ * <p>
+ * A search can be capped: once the cap is reached every subtask stops at its next node, and no solution beyond the cap
+ * is counted or delivered. Solutions are streamed to a callback as they are found, from the worker threads and in no
+ * particular order, so the callback must be thread-safe. The board it receives belongs to the subtask and changes as
+ * soon as the callback returns; it has to be copied to be kept.
+ * </p>
+ */
+public class SolutionEnumerator {
+    private static final int TASKS_PER_THREAD = 16;
+    private final SudokuGeometry geometry;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<BacktrackingSolver> branching;
+
+    /**
+     * Constructs an enumerator that runs on the common pool.
+     *
+     * @param geometry the shape of the boards to search.
+     */
+    public SolutionEnumerator(SudokuGeometry geometry) {
+        this(geometry, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs an enumerator that runs on the given pool.
+     *
+     * @param geometry the shape of the boards to search.
+     * @param pool the pool whose threads run the search.
+     */
+    public SolutionEnumerator(SudokuGeometry geometry, ForkJoinPool pool) {
+        this.geometry = geometry;
+        this.pool = pool;
+        this.branching = ThreadLocal.withInitial(() -> new BacktrackingSolver(geometry));
+    }
+
+    /**
+     * Counts the solutions of a board.
+     *
+     * @param board the board to inspect; it is left untouched.
+     * @param limit the number of solutions after which the search stops.
+     * @return the number of solutions, never more than {@code limit}.
+     */
+    public long count(Board board, long limit) {
+        return enumerate(board, limit, null);
+    }
+
+    /**
+     * Finds the solutions of a board and hands each one to a callback as soon as it is found.
+     *
+     * @param board the board to inspect; it is left untouched.
+     * @param limit the number of solutions after which the search stops.
+     * @param callback the callback that receives every solution, called concurrently from the worker threads, or
+     *                 {@code null} to only count them.
+     * @return the number of solutions delivered, never more than {@code limit}.
+     * @throws IllegalArgumentException if the board has another geometry.
+     */
+    public long enumerate(Board board, long limit, Consumer<Board> callback) {
+        if (!geometry.equals(board.getGeometry())) {
+            throw new IllegalArgumentException("El tablero no es de " + geometry);
+        }
+        if (limit <= 0 || board.hasConflicts()) {
+            return 0;
+        }
+        Search search = new Search(limit, callback);
+        pool.invoke(new Subtree(search, copy(board), pool.getParallelism() * TASKS_PER_THREAD));
+        return Math.min(search.found.get(), limit);
+    }
+
+    private Board copy(Board board) {
+        Board copy = new Board(geometry);
+        copy.copyFrom(board);
+        return copy;
+    }
+
+    /**
+     * The state shared by the subtasks of one call: the cap, the callback and the solutions found so far.
+     */
+    private static final class Search {
+        private final long limit;
+        private final Consumer<Board> callback;
+        private final AtomicLong found = new AtomicLong();
+        private volatile boolean stopped;
+
+        private Search(long limit, Consumer<Board> callback) {
+            this.limit = limit;
+            this.callback = callback;
+        }
+
+        private void deliver(Board solution) {
+            long index = found.incrementAndGet();
+            if (index > limit) {
+                stopped = true;
+                return;
+            }
+            if (callback != null) {
+                callback.accept(solution);
+            }
+            if (index == limit) {
+                stopped = true;
+            }
+        }
+    }
+
+    /**
+     * A subtree of the search: it is split into one subtask per branch while its share of subtasks is more than one,
+     * and searched depth-first otherwise.
+     */
+    @SuppressWarnings("serial")
+    private final class Subtree extends RecursiveAction {
+        private final Search search;
+        private final Board board;
+        private final int tasks;
+
+        private Subtree(Search search, Board board, int tasks) {
+            this.search = search;
+            this.board = board;
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            BacktrackingSolver solver = branching.get();
+            int branch = solver.findBranch(board);
+            if (tasks <= 1 || branch < 0) {
+                walk(solver, branch);
+                return;
+            }
+            int cell = branch & 0xFF;
+            int candidates = branch >>> 8;
+            int share = tasks / Integer.bitCount(candidates);
+            List<Subtree> children = new ArrayList<>(Integer.bitCount(candidates));
+            while (candidates != 0) {
+                int digit = Integer.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                Board child = copy(board);
+                child.place(cell / geometry.getSize(), cell % geometry.getSize(), digit);
+                children.add(new Subtree(search, child, share));
+            }
+            invokeAll(children);
+        }
+
+        /**
+         * Searches the subtree depth-first, starting from a branch already chosen for the current board.
+         */
+        private void walk(BacktrackingSolver solver, int branch) {
+            if (search.stopped) {
+                return;
+            }
+            if (branch == BacktrackingSolver.FULL) {
+                search.deliver(board);
+                return;
+            }
+            if (branch == BacktrackingSolver.DEAD_END) {
+                return;
+            }
+            int size = geometry.getSize();
+            int row = (branch & 0xFF) / size;
+            int col = (branch & 0xFF) % size;
+            int candidates = branch >>> 8;
+            while (candidates != 0 && !search.stopped) {
+                int digit = Integer.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                board.place(row, col, digit);
+                walk(solver, solver.findBranch(board));
+                board.clear(row, col);
+            }
+        }
+    }
+}
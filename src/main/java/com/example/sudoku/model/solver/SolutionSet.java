@@ -0,0 +1,168 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.SudokuGeometry;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SolutionSet} class finds, for every cell of a board, the digits that cell takes in at least one of the
+ * solutions of the board, without listing the solutions.
+ * <p>
+ * The search branches like the {@link BacktrackingSolver} and ORs every solution it reaches into one digit mask per
+ * cell. A subtree is skipped as soon as it can not add anything: when every filled cell already holds a digit of its
+ * mask and the candidates of every empty cell are all in its mask, no solution below can show a new digit. At every
+ * branch the digits not yet seen in that cell are tried first, so the masks fill up early and most of the tree is cut.
+ * For a puzzle with a single solution the search costs about the same as proving it unique, and a board with many
+ * solutions stops long before they could be counted.
+ * </p>
+ * <p>
+ * A cell whose mask holds a single digit has that digit in every solution, and a digit outside the mask is wrong
+ * whatever solution the player is heading to. The first solution found is kept as an example of a completion.
+ * </p>
+ */
+public class SolutionSet {
+    private final SudokuGeometry geometry;
+    private final BacktrackingSolver branching;
+    private final Board work;
+    private final Board example;
+    private final int[] digits;
+    private boolean solvable;
+    private long nodes;
+
+    /**
+     * Constructs a solution set for boards of the given geometry.
+     *
+     * @param geometry the shape of the boards to search.
+     */
+    public SolutionSet(SudokuGeometry geometry) {
+        this.geometry = geometry;
+        this.branching = new BacktrackingSolver(geometry);
+        this.work = new Board(geometry);
+        this.example = new Board(geometry);
+        this.digits = new int[geometry.getCellCount()];
+    }
+
+    /**
+     * Searches the solutions of a board and keeps, for every cell, the digits it takes in any of them.
+     *
+     * @param board the board to inspect; it is left untouched.
+     * @return {@code true} if the board has at least one solution.
+     * @throws IllegalArgumentException if the board has another geometry.
+     */
+    public boolean compute(Board board) {
+        if (!geometry.equals(board.getGeometry())) {
+            throw new IllegalArgumentException("El tablero no es de " + geometry);
+        }
+        Arrays.fill(digits, 0);
+        solvable = false;
+        nodes = 0;
+        if (board.hasConflicts()) {
+            return false;
+        }
+        work.copyFrom(board);
+        search(branching.findBranch(work));
+        return solvable;
+    }
+
+    /**
+     * Tells whether the last board searched has a solution.
+     *
+     * @return {@code true} if at least one solution was found.
+     */
+    public boolean isSolvable() {
+        return solvable;
+    }
+
+    /**
+     * Returns the digits a cell takes across all the solutions of the last board searched.
+     *
+     * @param index the row-major index of the cell.
+     * @return a mask with bit {@code d} set if some solution has digit {@code d} in the cell, or {@code 0} if there is
+     *         no solution.
+     */
+    public int getDigits(int index) {
+        return digits[index];
+    }
+
+    /**
+     * Returns the digit a cell takes in every solution of the last board searched.
+     *
+     * @param index the row-major index of the cell.
+     * @return the digit, or {@code 0} if the solutions disagree on the cell or there is none.
+     */
+    public int getForcedDigit(int index) {
+        int mask = digits[index];
+        return mask != 0 && (mask & mask - 1) == 0 ? Integer.numberOfTrailingZeros(mask) : 0;
+    }
+
+    /**
+     * Returns the first solution found by the last search.
+     *
+     * @return a board owned by this object and replaced by the next search; only meaningful if
+     *         {@link #isSolvable()} is {@code true}.
+     */
+    public Board getExample() {
+        return example;
+    }
+
+    /**
+     * Returns the number of boards visited by the last search.
+     *
+     * @return the number of nodes of the search tree that were expanded.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    private void search(int branch) {
+        nodes++;
+        if (branch == BacktrackingSolver.FULL) {
+            collect();
+            return;
+        }
+        if (branch == BacktrackingSolver.DEAD_END || solvable && !canAddDigit()) {
+            return;
+        }
+        int size = geometry.getSize();
+        int cell = branch & 0xFF;
+        int candidates = branch >>> 8;
+        int fresh = candidates & ~digits[cell];
+        tryDigits(cell / size, cell % size, fresh);
+        tryDigits(cell / size, cell % size, candidates & ~fresh);
+    }
+
+    private void tryDigits(int row, int col, int candidates) {
+        while (candidates != 0) {
+            int digit = Integer.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            work.place(row, col, digit);
+            search(branching.findBranch(work));
+            work.clear(row, col);
+        }
+    }
+
+    private void collect() {
+        if (!solvable) {
+            example.copyFrom(work);
+            solvable = true;
+        }
+        for (int index = 0; index < digits.length; index++) {
+            digits[index] |= 1 << work.get(index);
+        }
+    }
+
+    /**
+     * Tells whether a solution below the current board could still show a digit missing from the masks.
+     */
+    private boolean canAddDigit() {
+        for (int index = 0; index < digits.length; index++) {
+            int value = work.get(index);
+            int reachable = value != 0 ? 1 << value : work.candidates(index);
+            if ((reachable & ~digits[index]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.sudoku.model.solver;
+
+/**
+ * The {@code SolverStats} class holds the search counters of a {@link SudokuSolver}.
+ * <p>
+ * Counters accumulate over every call made to the solver until {@link #reset()} is invoked, so a caller can measure a
+ * single search or a whole batch. Like the solver that owns them, they are not thread-safe.
+ * </p>
+ */
+public class SolverStats {
+    long nodes;
+    long backtracks;
+    long propagations;
+
+    /**
+     * Sets every counter back to zero.
+     */
+    public void reset() {
+        nodes = 0;
+        backtracks = 0;
+        propagations = 0;
+    }
+
+    /**
+     * Returns the number of search nodes visited, that is, the number of times the search chose a branching point.
+     *
+     * @return the visited nodes.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of tentative placements that were undone because they led to no solution.
+     *
+     * @return the backtracks.
+     */
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * Returns the number of placements forced by constraint propagation without branching.
+     *
+     * @return the propagated placements.
+     */
+    public long getPropagations() {
+        return propagations;
+    }
+
+    @Override
+    public String toString() {
+        return "nodes=" + nodes + ", backtracks=" + backtracks + ", propagations=" + propagations;
+    }
+}
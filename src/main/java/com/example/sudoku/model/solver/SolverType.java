@@ -0,0 +1,35 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.SudokuGeometry;
+
+/**
+ * The {@code SolverType} enum lists the available {@link SudokuSolver} engines and creates instances of them.
+ */
+public enum SolverType {
+    /**
+     * Depth-first search on the board bitmasks, see {@link BacktrackingSolver}.
+     */
+    BACKTRACKING,
+    /**
+     * Exact cover search with Dancing Links, see {@link DancingLinksSolver}.
+     */
+    DANCING_LINKS,
+    /**
+     * Naked and hidden single propagation with minimum-remaining-values branching, see {@link PropagationSolver}.
+     */
+    PROPAGATION;
+
+    /**
+     * Creates a new solver of this type.
+     *
+     * @param geometry the shape of the boards the solver will work on.
+     * @return a fresh solver instance.
+     */
+    public SudokuSolver create(SudokuGeometry geometry) {
+        switch (this) {
+            case DANCING_LINKS: return new DancingLinksSolver(geometry);
+            case PROPAGATION: return new PropagationSolver(geometry);
+            default: return new BacktrackingSolver(geometry);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code SudokuSolver} interface is the common entry point of the search engines that complete a {@link Board}.
+ * <p>
+ * Implementations keep their scratch structures between calls so that repeated searches do not allocate, which also
+ * means a solver instance is bound to one geometry and must not be shared between threads. Empty cells are the only
+ * ones a solver fills; a board whose given digits already repeat in some unit has no solution.
+ * </p>
+ */
+public interface SudokuSolver {
+
+    /**
+     * Completes the empty cells of a board with the first solution found.
+     *
+     * @param board the board to solve; it is left untouched when there is no solution.
+     * @return {@code true} if the board was completed.
+     */
+    boolean solve(Board board);
+
+    /**
+     * Completes the empty cells of a board with a random solution, trying the digits of each branch in random order.
+     *
+     * @param board the board to solve; it is left untouched when there is no solution.
+     * @param random the source of randomness for the digit order.
+     * @return {@code true} if the board was completed.
+     */
+    boolean solveRandomly(Board board, RandomGenerator random);
+
+    /**
+     * Counts the solutions of a board, stopping as soon as {@code limit} of them have been found.
+     *
+     * @param board the board to inspect; it is left untouched.
+     * @param limit the number of solutions after which the search stops.
+     * @return the number of solutions found, never more than {@code limit}.
+     */
+    int countSolutions(Board board, int limit);
+
+    /**
+     * Returns the counters of the searches run by this solver.
+     *
+     * @return the live statistics of this solver.
+     */
+    SolverStats getStats();
+
+    /**
+     * Installs the listener that receives the events of every later search of this solver.
+     *
+     * @param listener the listener, or {@link SearchListener#NONE} to turn tracing off.
+     */
+    void setSearchListener(SearchListener listener);
+}
@@ -0,0 +1,67 @@
+package com.example.sudoku.view;
+
+import com.example.sudoku.model.metrics.Histogram;
+import com.example.sudoku.model.metrics.Metrics;
+import com.example.sudoku.model.metrics.Operation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+
+/**
+ * The {@code DiagnosticsOverlay} class is a label laid over the game that shows the latency percentiles of every
+ * {@link Operation} and the nodes visited per solvability search, as recorded by {@link Metrics}.
+ * <p>
+ * The overlay is hidden until {@link #toggle()} is called. While it is shown, recording is on and the text is
+ * refreshed twice a second; hiding it stops the refresh and puts recording back as it was, so a game played without
+ * the overlay pays nothing for it.
+ * </p>
+ */
+public class DiagnosticsOverlay extends Label {
+    private final Timeline refresh = new Timeline(new KeyFrame(Duration.millis(500), event -> update()));
+    private boolean enabledBefore;
+
+    /**
+     * Constructs a hidden overlay anchored to the top left corner of a {@link StackPane}.
+     */
+    public DiagnosticsOverlay() {
+        getStyleClass().add("diagnostics");
+        setMouseTransparent(true);
+        setVisible(false);
+        StackPane.setAlignment(this, Pos.TOP_LEFT);
+        refresh.setCycleCount(Timeline.INDEFINITE);
+    }
+
+    /**
+     * Shows the overlay and turns recording on, or hides it and restores recording.
+     */
+    public void toggle() {
+        if (isVisible()) {
+            refresh.stop();
+            setVisible(false);
+            Metrics.setEnabled(enabledBefore);
+        } else {
+            enabledBefore = Metrics.isEnabled();
+            Metrics.setEnabled(true);
+            update();
+            setVisible(true);
+            refresh.play();
+        }
+    }
+
+    private void update() {
+        StringBuilder text = new StringBuilder("Diagnóstico (F3)\n");
+        text.append(String.format("%-14s %7s %10s %10s%n", "operación", "n", "p50 µs", "p99 µs"));
+        for (Operation operation : Operation.values()) {
+            Histogram latencies = Metrics.getLatencies(operation);
+            text.append(String.format("%-14s %7d %10.1f %10.1f%n", operation.getLabel(), latencies.getCount(),
+                    latencies.getPercentile(50) / 1e3, latencies.getPercentile(99) / 1e3));
+        }
+        Histogram nodes = Metrics.getNodes();
+        text.append(String.format("nodos por búsqueda: p50 %d, p99 %d (%d búsquedas)", nodes.getPercentile(50),
+                nodes.getPercentile(99), nodes.getCount()));
+        setText(text.toString());
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.sudoku.view;
 
+import com.example.sudoku.controller.GameController;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.metrics.Metrics;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 
 /**
@@ -12,6 +18,10 @@ import javafx.stage.Stage;
  * This stage is initialized by loading the associated FXML layout, applying a CSS stylesheet,
  * setting a window title, and adding an icon image to the stage.
  * </p>
+ * <p>
+ * F3 shows or hides a {@link DiagnosticsOverlay} with the latencies recorded by {@link Metrics}, which are also
+ * published over JMX.
+ * </p>
  *
  * <p>
  * This class is part of the Sudoku game view implementation.
@@ -19,6 +29,13 @@ import javafx.stage.Stage;
  */
 public class GameStage extends Stage {
 
+    /**
+     * Constructs a new {@code GameStage} for the classic 6x6 board.
+     */
+    public GameStage(){
+        this(SudokuGeometry.SIX);
+    }
+
     /**
      * Constructs a new {@code GameStage} which initializes the stage by loading the FXML layout,
      * setting the scene dimensions, applying the stylesheet, setting the window title,
@@ -27,20 +44,30 @@ public class GameStage extends Stage {
      * In case of an exception during initialization, the stack trace is printed.
      * </p>
      *
+     * @param geometry the shape of the board the game is played on.
      * @author Santiago Arias
      * @version 1.0
      */
-    public GameStage(){
+    public GameStage(SudokuGeometry geometry){
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/sudoku/game.fxml"));
+            loader.setControllerFactory(type -> new GameController(geometry));
             Parent root = loader.load();
-            Scene scene = new Scene(root, 600, 600);
+            DiagnosticsOverlay diagnostics = new DiagnosticsOverlay();
+            Scene scene = new Scene(new StackPane(root, diagnostics), 600, 600);
             scene.getStylesheets().add(getClass().getResource("/com/example/sudoku/game.css").toExternalForm());
 
             this.setTitle("Mini-proyecto 2");
             this.getIcons().add(new Image(getClass().getResourceAsStream("/com/example/sudoku/images/favicon.png")));
+            scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+                if (event.getCode() == KeyCode.F3) {
+                    diagnostics.toggle();
+                    event.consume();
+                }
+            });
             this.setScene(scene);
             this.show();
+            Metrics.register();
         } catch (Exception e) {
             e.printStackTrace();
         }
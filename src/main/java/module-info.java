@@ -1,12 +1,18 @@
 module com.example.sudoku {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
 
 
     opens com.example.sudoku to javafx.fxml;
     exports com.example.sudoku;
     exports com.example.sudoku.model;
     opens com.example.sudoku.model to javafx.fxml;
+    exports com.example.sudoku.model.solver;
+    exports com.example.sudoku.model.rating;
+    exports com.example.sudoku.model.bank;
+    exports com.example.sudoku.model.cache;
+    exports com.example.sudoku.model.metrics;
     exports com.example.sudoku.controller;
     opens com.example.sudoku.controller to javafx.fxml;
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.example.sudoku.model;
+
+import com.example.sudoku.model.solver.BacktrackingSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the counters that {@link Board} keeps incrementally against a brute-force recount of the grid.
+ */
+class BoardTest {
+    private static final int EDITS = 3000;
+
+    @Test
+    void countersMatchARecountAfterRandomEdits() {
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.FOUR, SudokuGeometry.SIX,
+                SudokuGeometry.NINE, SudokuGeometry.SIXTEEN}) {
+            SplittableRandom random = new SplittableRandom(geometry.getSize());
+            Board board = new Board(geometry);
+            int size = geometry.getSize();
+            for (int edit = 0; edit < EDITS; edit++) {
+                int cell = random.nextInt(geometry.getCellCount());
+                int digit = random.nextInt(5) == 0 ? 0 : 1 + random.nextInt(Math.min(size, 3));
+                if (random.nextBoolean() && digit == 0) {
+                    board.clear(cell / size, cell % size);
+                } else {
+                    board.place(cell / size, cell % size, digit);
+                }
+                assertMatchesRecount(board);
+            }
+            Board copy = new Board(geometry);
+            copy.copyFrom(board);
+            assertMatchesRecount(copy);
+            board.reset();
+            assertMatchesRecount(board);
+            assertEquals(0, board.getFilledCount());
+        }
+    }
+
+    @Test
+    void solvedGridIsSolvedUntilADigitRepeatsOrACellEmpties() {
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.SIX, SudokuGeometry.NINE}) {
+            Board board = new Board(geometry);
+            new BacktrackingSolver(geometry).solveRandomly(board, new SplittableRandom(7));
+            assertMatchesRecount(board);
+            assertTrue(board.isSolved());
+
+            int first = board.get(0, 0);
+            int second = board.get(0, 1);
+            board.place(0, 0, second);
+            assertMatchesRecount(board);
+            assertFalse(board.isSolved());
+            assertTrue(board.isConflicting(0));
+            assertTrue(board.isConflicting(1));
+
+            board.place(0, 1, first);
+            assertMatchesRecount(board);
+            assertFalse(board.isSolved());
+
+            board.place(0, 1, second);
+            board.place(0, 0, first);
+            assertMatchesRecount(board);
+            assertTrue(board.isSolved());
+
+            board.clear(3, 3);
+            assertMatchesRecount(board);
+            assertFalse(board.isSolved());
+            assertFalse(board.hasConflicts());
+        }
+    }
+
+    @Test
+    void overwritingARepeatedDigitReleasesItsPartners() {
+        Board board = new Board(SudokuGeometry.NINE);
+        board.place(0, 0, 5);
+        board.place(0, 4, 5);
+        board.place(4, 0, 5);
+        assertMatchesRecount(board);
+        assertEquals(3, board.getConflictingCount());
+        board.place(0, 0, 6);
+        assertMatchesRecount(board);
+        assertFalse(board.hasConflicts());
+        board.place(1, 1, 6);
+        assertMatchesRecount(board);
+        assertTrue(board.isConflicting(0));
+        assertTrue(board.isConflicting(10));
+        assertFalse(board.isConflicting(4));
+        board.clear(1, 1);
+        assertMatchesRecount(board);
+        assertFalse(board.hasConflicts());
+    }
+
+    /**
+     * Recounts the filled cells, the conflicting cells and the candidates of every cell by scanning the units, and
+     * compares them with what the board reports.
+     */
+    private static void assertMatchesRecount(Board board) {
+        SudokuGeometry geometry = board.getGeometry();
+        int size = geometry.getSize();
+        int cellCount = geometry.getCellCount();
+        int filled = 0;
+        int conflicting = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int digit = board.get(cell);
+            boolean repeats = false;
+            int used = 0;
+            for (int other = 0; other < cellCount; other++) {
+                int otherRow = other / size;
+                int otherCol = other % size;
+                boolean peer = otherRow == row || otherCol == col
+                        || geometry.blockIndex(otherRow, otherCol) == geometry.blockIndex(row, col);
+                if (!peer) {
+                    continue;
+                }
+                used |= 1 << board.get(other);
+                if (other != cell && digit != 0 && board.get(other) == digit) {
+                    repeats = true;
+                }
+            }
+            filled += digit != 0 ? 1 : 0;
+            conflicting += repeats ? 1 : 0;
+            assertEquals(repeats, board.isConflicting(cell), "celda " + cell);
+            assertEquals(~used & ((1 << size) - 1) << 1, board.candidates(cell), "celda " + cell);
+        }
+        int listed = 0;
+        for (int cell = board.nextConflicting(0); cell >= 0; cell = board.nextConflicting(cell + 1)) {
+            assertTrue(board.isConflicting(cell), "celda " + cell);
+            listed++;
+        }
+        assertEquals(conflicting, listed);
+        assertEquals(conflicting, board.getConflictingCount());
+        assertEquals(filled, board.getFilledCount());
+        assertEquals(conflicting > 0, board.hasConflicts());
+        assertEquals(filled == cellCount && conflicting == 0, board.isSolved());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.sudoku.model;
+
+import com.example.sudoku.model.solver.SolverType;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks that {@link Canonicalizer} gives every symmetric copy of a puzzle the same key, and that a solution taken to
+ * the canonical form of one copy comes back as the solution of another.
+ */
+class CanonicalizerTest {
+    private static final int ROUNDS = 50;
+
+    @Test
+    void keyIsInvariantUnderTheSymmetriesOfSmallBoards() {
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.FOUR, SudokuGeometry.SIX}) {
+            SplittableRandom random = new SplittableRandom(geometry.getSize());
+            Canonicalizer canonicalizer = new Canonicalizer(geometry);
+            for (int round = 0; round < ROUNDS; round++) {
+                Sudoku sudoku = newPuzzle(geometry, random);
+                Board puzzle = playable(sudoku);
+                PuzzleKey key = canonicalizer.canonicalize(puzzle);
+                assertEquals(key, canonicalizer.canonicalize(transform(puzzle, random, true)), geometry.toString());
+            }
+        }
+    }
+
+    @Test
+    void keyIsInvariantUnderRelabellingOfLargeBoards() {
+        SplittableRandom random = new SplittableRandom(9);
+        Canonicalizer canonicalizer = new Canonicalizer(SudokuGeometry.NINE);
+        for (int round = 0; round < ROUNDS; round++) {
+            Board puzzle = playable(newPuzzle(SudokuGeometry.NINE, random));
+            PuzzleKey key = canonicalizer.canonicalize(puzzle);
+            assertEquals(key, canonicalizer.canonicalize(transform(puzzle, random, false)));
+        }
+    }
+
+    @Test
+    void differentPuzzlesGetDifferentKeys() {
+        SplittableRandom random = new SplittableRandom(1);
+        Canonicalizer canonicalizer = new Canonicalizer(SudokuGeometry.NINE);
+        Board puzzle = playable(newPuzzle(SudokuGeometry.NINE, random));
+        PuzzleKey key = canonicalizer.canonicalize(puzzle);
+        for (int cell = 0; cell < puzzle.getGeometry().getCellCount(); cell++) {
+            if (puzzle.get(cell) != 0) {
+                puzzle.clear(cell / puzzle.getSize(), cell % puzzle.getSize());
+                break;
+            }
+        }
+        assertNotEquals(key, canonicalizer.canonicalize(puzzle));
+    }
+
+    @Test
+    void solutionRoundTripsThroughTheCanonicalForm() {
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.FOUR, SudokuGeometry.SIX,
+                SudokuGeometry.NINE}) {
+            SplittableRandom random = new SplittableRandom(geometry.getSize() + 100);
+            Canonicalizer canonicalizer = new Canonicalizer(geometry);
+            for (int round = 0; round < ROUNDS; round++) {
+                Sudoku sudoku = newPuzzle(geometry, random);
+                Board puzzle = playable(sudoku);
+                Board solution = solved(sudoku);
+                canonicalizer.canonicalize(puzzle);
+                byte[] canonical = canonicalizer.toCanonical(solution);
+                Board restored = copy(puzzle);
+                canonicalizer.fromCanonical(canonical, restored);
+                assertEquals(PuzzleFormat.format(solution), PuzzleFormat.format(restored), geometry.toString());
+            }
+        }
+    }
+
+    @Test
+    void solutionOfOneCopySolvesAnotherCopy() {
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.FOUR, SudokuGeometry.SIX,
+                SudokuGeometry.NINE}) {
+            SplittableRandom random = new SplittableRandom(geometry.getSize() + 200);
+            Canonicalizer canonicalizer = new Canonicalizer(geometry);
+            boolean fullGroup = canonicalizer.getGroupSize() > 1;
+            for (int round = 0; round < ROUNDS; round++) {
+                Sudoku sudoku = newPuzzle(geometry, random);
+                canonicalizer.canonicalize(playable(sudoku));
+                byte[] canonical = canonicalizer.toCanonical(solved(sudoku));
+
+                Board copy = transform(playable(sudoku), random, fullGroup);
+                canonicalizer.canonicalize(copy);
+                Board restored = copy(copy);
+                canonicalizer.fromCanonical(canonical, restored);
+                assertEquals(1, SolverType.BACKTRACKING.create(geometry).countSolutions(copy, 2));
+                Board expected = copy(copy);
+                SolverType.BACKTRACKING.create(geometry).solve(expected);
+                assertEquals(PuzzleFormat.format(expected), PuzzleFormat.format(restored), geometry.toString());
+            }
+        }
+    }
+
+    private static Sudoku newPuzzle(SudokuGeometry geometry, SplittableRandom random) {
+        Sudoku sudoku = new Sudoku(geometry, SolverType.BACKTRACKING, random.split());
+        sudoku.generateSolvedBoard();
+        sudoku.removeCellsToCreatePuzzle();
+        return sudoku;
+    }
+
+    private static Board playable(Sudoku sudoku) {
+        Board board = new Board(sudoku.getGeometry());
+        for (int cell = 0; cell < board.getGeometry().getCellCount(); cell++) {
+            int value = sudoku.getPlayableValue(cell / board.getSize(), cell % board.getSize());
+            if (value != 0) {
+                board.place(cell / board.getSize(), cell % board.getSize(), value);
+            }
+        }
+        return board;
+    }
+
+    private static Board solved(Sudoku sudoku) {
+        Board board = new Board(sudoku.getGeometry());
+        for (int cell = 0; cell < board.getGeometry().getCellCount(); cell++) {
+            board.place(cell / board.getSize(), cell % board.getSize(),
+                    sudoku.getSolvedValue(cell / board.getSize(), cell % board.getSize()));
+        }
+        return board;
+    }
+
+    private static Board copy(Board board) {
+        Board copy = new Board(board.getGeometry());
+        copy.copyFrom(board);
+        return copy;
+    }
+
+    /**
+     * Applies a random symmetry: a relabelling of the digits and, if {@code geometric}, random permutations of the
+     * bands, the rows inside each band, the stacks and the columns inside each stack, and a transposition when the
+     * blocks are square.
+     */
+    private static Board transform(Board board, SplittableRandom random, boolean geometric) {
+        SudokuGeometry geometry = board.getGeometry();
+        int size = geometry.getSize();
+        int[] digits = permutation(size + 1, 1, random);
+        int[] rows = geometric ? lineMap(size, geometry.getBlockRows(), random) : permutation(size, 0, null);
+        int[] cols = geometric ? lineMap(size, geometry.getBlockCols(), random) : permutation(size, 0, null);
+        boolean transpose = geometric && geometry.getBlockRows() == geometry.getBlockCols() && random.nextBoolean();
+        Board result = new Board(geometry);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = board.get(rows[row], cols[col]);
+                if (value != 0) {
+                    result.place(transpose ? col : row, transpose ? row : col, digits[value]);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int[] lineMap(int size, int width, SplittableRandom random) {
+        int[] groups = permutation(size / width, 0, random);
+        int[] map = new int[size];
+        for (int group = 0; group < groups.length; group++) {
+            int[] inside = permutation(width, 0, random);
+            for (int line = 0; line < width; line++) {
+                map[group * width + line] = groups[group] * width + inside[line];
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Returns the identity on {@code [0, length)} with the entries from {@code from} on shuffled, or left as they are
+     * when {@code random} is {@code null}.
+     */
+    private static int[] permutation(int length, int from, SplittableRandom random) {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = i;
+        }
+        for (int i = length - 1; random != null && i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+}
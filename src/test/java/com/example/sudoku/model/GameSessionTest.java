@@ -0,0 +1,58 @@
+package com.example.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that undoing every move of a {@link GameSession} brings back the puzzle and redoing them brings back the
+ * board.
+ */
+class GameSessionTest {
+
+    @Test
+    void undoAllAndRedoAllRestoreTheBoard() {
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.SIX, SudokuGeometry.NINE}) {
+            GameSession session = GameSnapshotTest.playedSession(geometry, 11);
+            int cellCount = geometry.getCellCount();
+            int[] played = values(session);
+            boolean[] hinted = new boolean[cellCount];
+            for (int cell = 0; cell < cellCount; cell++) {
+                hinted[cell] = session.isHinted(cell);
+            }
+
+            int undone = 0;
+            while (session.undo() >= 0) {
+                undone++;
+            }
+            assertTrue(undone > 0);
+            int size = geometry.getSize();
+            for (int cell = 0; cell < cellCount; cell++) {
+                CellState state = session.getState(cell / size, cell % size);
+                assertEquals(state == CellState.GIVEN ? played[cell] : 0, session.getValue(cell / size, cell % size));
+                assertEquals(state == CellState.GIVEN ? CellState.GIVEN : CellState.EMPTY, state);
+            }
+
+            int redone = 0;
+            while (session.redo() >= 0) {
+                redone++;
+            }
+            assertEquals(undone, redone);
+            int[] replayed = values(session);
+            for (int cell = 0; cell < cellCount; cell++) {
+                assertEquals(played[cell], replayed[cell]);
+                assertEquals(hinted[cell], session.isHinted(cell));
+            }
+        }
+    }
+
+    private static int[] values(GameSession session) {
+        int size = session.getSize();
+        int[] values = new int[size * size];
+        for (int cell = 0; cell < values.length; cell++) {
+            values[cell] = session.getValue(cell / size, cell % size);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.sudoku.model;
+
+import com.example.sudoku.model.solver.SolverType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a {@link GameSnapshot} restores a game as it was saved and that corrupt snapshots are rejected.
+ */
+class GameSnapshotTest {
+
+    @Test
+    void decodeRestoresTheEncodedGame() throws IOException {
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.SIX, SudokuGeometry.NINE}) {
+            GameSession session = playedSession(geometry, 7);
+            byte[] data = GameSnapshot.encode(session);
+
+            GameSession restored = new GameSession(geometry);
+            assertTrue(GameSnapshot.decode(data, restored));
+            int size = geometry.getSize();
+            for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+                int row = cell / size;
+                int col = cell % size;
+                assertEquals(session.getSudoku().getSolvedValue(row, col),
+                        restored.getSudoku().getSolvedValue(row, col));
+                assertEquals(session.getValue(row, col), restored.getValue(row, col));
+                assertEquals(session.isHinted(cell), restored.isHinted(cell));
+                if (session.getState(row, col) == CellState.PENDING) {
+                    CellState settled = restored.resolve(row, col);
+                    assertTrue(settled == CellState.VALID || settled == CellState.HINTED
+                            || settled == CellState.UNSOLVABLE, settled.toString());
+                } else {
+                    assertEquals(session.getState(row, col), restored.getState(row, col));
+                }
+            }
+            assertEquals(session.getHintsUsed(), restored.getHintsUsed());
+            assertArrayEquals(session.getHistory().toArray(), restored.getHistory().toArray());
+            assertEquals(session.getHistory().getPosition(), restored.getHistory().getPosition());
+            assertTrue(restored.getElapsedMillis() >= ByteBuffer.wrap(data).getLong(8));
+        }
+    }
+
+    @Test
+    void decodeIgnoresASnapshotOfAnotherSize() throws IOException {
+        byte[] data = GameSnapshot.encode(playedSession(SudokuGeometry.SIX, 1));
+        assertFalse(GameSnapshot.decode(data, new GameSession(SudokuGeometry.NINE)));
+    }
+
+    @Test
+    void decodeRejectsABadHeader() {
+        byte[] data = GameSnapshot.encode(playedSession(SudokuGeometry.NINE, 2));
+        byte[] magic = data.clone();
+        magic[0] ^= 1;
+        assertCorrupt(magic);
+        byte[] version = data.clone();
+        version[4] = GameSnapshot.VERSION + 1;
+        assertCorrupt(version);
+        byte[] geometry = data.clone();
+        geometry[5] = 0;
+        assertCorrupt(geometry);
+    }
+
+    @Test
+    void decodeRejectsTruncatedAndPaddedData() {
+        byte[] data = GameSnapshot.encode(playedSession(SudokuGeometry.NINE, 3));
+        for (int length = 0; length < data.length; length++) {
+            assertCorrupt(Arrays.copyOf(data, length));
+        }
+        assertCorrupt(Arrays.copyOf(data, data.length + 1));
+    }
+
+    @Test
+    void decodeRejectsASolutionThatIsNotSolved() {
+        byte[] data = GameSnapshot.encode(playedSession(SudokuGeometry.NINE, 4));
+        int solution = GameSnapshot.HEADER_SIZE + 5 * ((SudokuGeometry.NINE.getCellCount() + 7) / 8);
+        data[solution] = (byte) ((data[solution] & 0xF0) | ((data[solution] + 1) % 9));
+        assertCorrupt(data);
+    }
+
+    @Test
+    void decodeRejectsAMoveOnAClue() {
+        GameSession session = playedSession(SudokuGeometry.NINE, 5);
+        byte[] data = GameSnapshot.encode(session);
+        int clue = 0;
+        while (session.getState(clue / 9, clue % 9) != CellState.GIVEN) {
+            clue++;
+        }
+        int moves = session.getHistory().toArray().length;
+        ByteBuffer.wrap(data).putInt(data.length - moves * Integer.BYTES, MoveHistory.pack(clue, 0, 1, false));
+        assertCorrupt(data);
+    }
+
+    @Test
+    void decodeNeverFailsWithAnythingButAnIOException() throws IOException {
+        byte[] data = GameSnapshot.encode(playedSession(SudokuGeometry.SIX, 6));
+        SplittableRandom random = new SplittableRandom(6);
+        for (int round = 0; round < 2000; round++) {
+            byte[] corrupt = data.clone();
+            corrupt[random.nextInt(corrupt.length)] ^= (byte) (1 << random.nextInt(8));
+            try {
+                GameSnapshot.decode(corrupt, new GameSession(SudokuGeometry.SIX));
+            } catch (IOException e) {
+                // rejected, as it should be
+            }
+        }
+    }
+
+    private static void assertCorrupt(byte[] data) {
+        assertThrows(IOException.class, () -> GameSnapshot.decode(data, new GameSession(SudokuGeometry.NINE)),
+                "length " + data.length);
+    }
+
+    /**
+     * Plays a few moves of a generated puzzle: right and wrong entries, a hint, a deletion, a move taken back and a
+     * last entry left pending.
+     */
+    static GameSession playedSession(SudokuGeometry geometry, long seed) {
+        Sudoku sudoku = new Sudoku(geometry, SolverType.BACKTRACKING, new SplittableRandom(seed));
+        sudoku.generateSolvedBoard();
+        sudoku.removeCellsToCreatePuzzle();
+        GameSession session = new GameSession(sudoku);
+        int size = geometry.getSize();
+        int placed = 0;
+        for (int cell = 0; cell < geometry.getCellCount() && placed < 8; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            if (session.getState(row, col) == CellState.EMPTY) {
+                int solved = sudoku.getSolvedValue(row, col);
+                session.place(row, col, placed % 3 == 2 ? solved % size + 1 : solved);
+                placed++;
+            }
+        }
+        session.hint();
+        session.place(0, firstEditable(session, 0), 0);
+        session.undo();
+        int row = size - 1;
+        int col = firstEmpty(session, row);
+        if (col >= 0) {
+            session.enter(row, col, sudoku.getSolvedValue(row, col));
+        }
+        return session;
+    }
+
+    private static int firstEditable(GameSession session, int row) {
+        for (int col = 0; col < session.getSize(); col++) {
+            if (session.getState(row, col) != CellState.GIVEN && session.getValue(row, col) != 0) {
+                return col;
+            }
+        }
+        return firstEmpty(session, row);
+    }
+
+    private static int firstEmpty(GameSession session, int row) {
+        for (int col = 0; col < session.getSize(); col++) {
+            if (session.getState(row, col) == CellState.EMPTY) {
+                return col;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.sudoku.model;
+
+import com.example.sudoku.model.solver.BacktrackingSolver;
+import com.example.sudoku.model.solver.SolverType;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the cached answer of {@link SolvabilityTracker} against a fresh search after every edit.
+ */
+class SolvabilityTrackerTest {
+    private static final int EDITS = 400;
+
+    @Test
+    void cachedAnswerMatchesAFreshSearchAfterRandomEdits() {
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.FOUR, SudokuGeometry.SIX,
+                SudokuGeometry.NINE}) {
+            SplittableRandom random = new SplittableRandom(geometry.getSize() * 5L);
+            for (int game = 0; game < 5; game++) {
+                Game fixture = new Game(geometry, random);
+                int size = geometry.getSize();
+                for (int edit = 0; edit < EDITS; edit++) {
+                    int cell = fixture.randomEditableCell(random);
+                    int digit = random.nextInt(4) == 0 ? 0
+                            : random.nextBoolean() ? fixture.answer.get(cell) : 1 + random.nextInt(size);
+                    fixture.tracker.place(cell / size, cell % size, digit);
+                    boolean expected = fixture.freshlySolvable();
+                    assertEquals(expected, fixture.tracker.isSolvable(),
+                            geometry + " " + PuzzleFormat.format(fixture.playable));
+                    assertTrue(fixture.tracker.isKnown());
+                    if (expected) {
+                        fixture.assertSolutionAgrees();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void clearingAnEntryKeepsASolvableBoardKnown() {
+        Game fixture = new Game(SudokuGeometry.NINE, new SplittableRandom(1));
+        int cell = fixture.randomEditableCell(new SplittableRandom(2));
+        fixture.tracker.place(cell / 9, cell % 9, fixture.answer.get(cell));
+        assertTrue(fixture.tracker.isKnown());
+        assertTrue(fixture.tracker.isSolvable());
+        fixture.tracker.place(cell / 9, cell % 9, 0);
+        assertTrue(fixture.tracker.isKnown());
+        assertTrue(fixture.tracker.isSolvable());
+    }
+
+    @Test
+    void entryThatDiffersFromTheSolutionMakesTheAnswerUnknown() {
+        Game fixture = new Game(SudokuGeometry.NINE, new SplittableRandom(3));
+        int cell = fixture.cellWithHarmlessWrongDigit();
+        int row = cell / 9;
+        int col = cell % 9;
+        int wrong = fixture.harmlessWrongDigit(cell);
+        fixture.tracker.place(row, col, wrong);
+        assertFalse(fixture.playable.isConflicting(cell));
+        assertFalse(fixture.tracker.isKnown());
+        assertFalse(fixture.tracker.isSolvable());
+
+        fixture.tracker.place(row, col, 0);
+        assertFalse(fixture.tracker.isKnown());
+        assertTrue(fixture.tracker.isSolvable());
+    }
+
+    @Test
+    void conflictThatLiftsAContradictionMakesTheAnswerUnknown() {
+        Game fixture = new Game(SudokuGeometry.NINE, new SplittableRandom(4));
+        int cell = fixture.cellWithHarmlessWrongDigit();
+        int row = cell / 9;
+        int col = cell % 9;
+        int wrong = fixture.harmlessWrongDigit(cell);
+        fixture.tracker.place(row, col, wrong);
+        assertFalse(fixture.tracker.isSolvable());
+
+        int other = -1;
+        for (int c = 0; c < 9 && other < 0; c++) {
+            if (c != col && fixture.playable.get(row, c) == 0) {
+                other = c;
+            }
+        }
+        fixture.tracker.place(row, other, wrong);
+        assertTrue(fixture.playable.isConflicting(cell));
+        assertFalse(fixture.tracker.isKnown());
+        assertEquals(fixture.freshlySolvable(), fixture.tracker.isSolvable());
+    }
+
+    /**
+     * A generated puzzle with the boards a {@link Sudoku} would give its tracker.
+     */
+    private static final class Game {
+        private final Board playable;
+        private final Board solution;
+        private final Board answer;
+        private final Board clues;
+        private final SolvabilityTracker tracker;
+        private final BacktrackingSolver oracle;
+
+        private Game(SudokuGeometry geometry, SplittableRandom random) {
+            Sudoku sudoku = new Sudoku(geometry, SolverType.BACKTRACKING, random.split());
+            sudoku.generateSolvedBoard();
+            sudoku.removeCellsToCreatePuzzle();
+            int size = geometry.getSize();
+            playable = new Board(geometry);
+            solution = new Board(geometry);
+            answer = new Board(geometry);
+            clues = new Board(geometry);
+            for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+                int row = cell / size;
+                int col = cell % size;
+                answer.place(row, col, sudoku.getSolvedValue(row, col));
+                if (sudoku.getPlayableValue(row, col) != 0) {
+                    playable.place(row, col, sudoku.getPlayableValue(row, col));
+                    clues.place(row, col, sudoku.getPlayableValue(row, col));
+                }
+            }
+            solution.copyFrom(answer);
+            tracker = new SolvabilityTracker(playable, solution, new Board(geometry),
+                    SolverType.PROPAGATION.create(geometry));
+            tracker.reset();
+            oracle = new BacktrackingSolver(geometry);
+        }
+
+        private int randomEditableCell(SplittableRandom random) {
+            int cell;
+            do {
+                cell = random.nextInt(playable.getGeometry().getCellCount());
+            } while (clues.get(cell) != 0);
+            return cell;
+        }
+
+        /**
+         * Searches the board from scratch, leaving out the entries that repeat a number, as the tracker does.
+         */
+        private boolean freshlySolvable() {
+            Board copy = new Board(playable.getGeometry());
+            copy.copyFrom(playable);
+            int size = playable.getSize();
+            for (int cell = 0; cell < playable.getGeometry().getCellCount(); cell++) {
+                if (clues.get(cell) == 0 && playable.isConflicting(cell)) {
+                    copy.clear(cell / size, cell % size);
+                }
+            }
+            return oracle.countSolutions(copy, 1) > 0;
+        }
+
+        private void assertSolutionAgrees() {
+            assertTrue(solution.isSolved());
+            for (int cell = 0; cell < playable.getGeometry().getCellCount(); cell++) {
+                if (playable.get(cell) != 0 && !playable.isConflicting(cell)) {
+                    assertEquals(playable.get(cell), solution.get(cell));
+                }
+            }
+        }
+
+        private int cellWithHarmlessWrongDigit() {
+            for (int cell = 0; cell < playable.getGeometry().getCellCount(); cell++) {
+                if (clues.get(cell) == 0 && harmlessWrongDigit(cell) != 0) {
+                    return cell;
+                }
+            }
+            throw new IllegalStateException("No hay celda libre");
+        }
+
+        /**
+         * Returns a digit other than the solution's that repeats nothing in the cell's units, or {@code 0}.
+         */
+        private int harmlessWrongDigit(int cell) {
+            int size = playable.getSize();
+            for (int digit = 1; digit <= size; digit++) {
+                if (digit != answer.get(cell) && playable.canPlace(cell / size, cell % size, digit)) {
+                    return digit;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.sudoku.model.bank;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.PuzzleFormat;
+import com.example.sudoku.model.SudokuGeometry;
+import com.example.sudoku.model.rating.Difficulty;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a {@link PuzzleBank} unpacks the records written by {@link PuzzleBankWriter} and rejects corrupt ones.
+ */
+class PuzzleBankTest {
+    private static final String SOLUTION = "1234341221434321";
+    private static final String PUZZLE = "1..4..1..1..4..1";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadUnpacksTheWrittenRecords() throws IOException {
+        PuzzleBank bank = PuzzleBank.open(writeBank());
+        Board solution = new Board(SudokuGeometry.FOUR);
+        Board puzzle = new Board(SudokuGeometry.FOUR);
+
+        assertEquals(2, bank.size());
+        assertEquals(Difficulty.HARD, bank.getDifficulty(1));
+        assertEquals(Difficulty.EASY, bank.load(0, solution, puzzle));
+        assertEquals(SOLUTION, PuzzleFormat.format(solution));
+        assertEquals(PUZZLE, PuzzleFormat.format(puzzle));
+    }
+
+    @Test
+    void aDifficultyOutOfRangeIsRejected() throws IOException {
+        for (byte ordinal : new byte[]{(byte) Difficulty.values().length, -1}) {
+            byte[] data = Files.readAllBytes(writeBank());
+            data[offset(1)] = ordinal;
+            assertCorrupt(data);
+        }
+    }
+
+    @Test
+    void aDigitLargerThanTheBoardIsRejected() throws IOException {
+        byte[] data = Files.readAllBytes(writeBank());
+        int digits = offset(1) + 1 + BankFormat.givensSize(SudokuGeometry.FOUR);
+        data[digits + 3] |= (byte) 0xF0;
+        assertCorrupt(data);
+    }
+
+    /**
+     * Checks that the second record of a bank is rejected without touching the boards, and that the first one still
+     * loads.
+     */
+    private void assertCorrupt(byte[] data) throws IOException {
+        Path path = directory.resolve("corrupt.bank");
+        Files.write(path, data);
+        PuzzleBank bank = PuzzleBank.open(path);
+        Board solution = new Board(SudokuGeometry.FOUR);
+        Board puzzle = new Board(SudokuGeometry.FOUR);
+        bank.load(0, solution, puzzle);
+
+        if (data[offset(1)] != Difficulty.HARD.ordinal()) {
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> bank.getDifficulty(1));
+            assertEquals("Registro 1 del banco corrupto", error.getMessage());
+        }
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> bank.load(1, solution, puzzle));
+        assertEquals("Registro 1 del banco corrupto", error.getMessage());
+        assertEquals(SOLUTION, PuzzleFormat.format(solution));
+        assertEquals(PUZZLE, PuzzleFormat.format(puzzle));
+    }
+
+    private Path writeBank() throws IOException {
+        Path path = directory.resolve("sudoku-4x4.bank");
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(path, SudokuGeometry.FOUR)) {
+            writer.write(PuzzleFormat.parse(SOLUTION), PuzzleFormat.parse(PUZZLE), Difficulty.EASY);
+            writer.write(PuzzleFormat.parse(SOLUTION), PuzzleFormat.parse(PUZZLE), Difficulty.HARD);
+        }
+        return path;
+    }
+
+    private static int offset(int index) {
+        return BankFormat.HEADER_SIZE + index * BankFormat.recordSize(SudokuGeometry.FOUR);
+    }
+}
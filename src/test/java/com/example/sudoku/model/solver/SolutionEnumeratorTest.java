@@ -0,0 +1,104 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.PuzzleFormat;
+import com.example.sudoku.model.SudokuGeometry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the counts and the solutions delivered by {@link SolutionEnumerator} against known totals and against
+ * {@link BacktrackingSolver#countSolutions(Board, int)}.
+ */
+class SolutionEnumeratorTest {
+
+    @Test
+    void emptyFourByFourBoardHas288Solutions() {
+        Board empty = new Board(SudokuGeometry.FOUR);
+        assertEquals(288, new SolutionEnumerator(SudokuGeometry.FOUR).count(empty, Long.MAX_VALUE));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(288, new SolutionEnumerator(SudokuGeometry.FOUR, pool).count(empty, Long.MAX_VALUE));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void searchStopsAtTheCap() {
+        Board empty = new Board(SudokuGeometry.FOUR);
+        SolutionEnumerator enumerator = new SolutionEnumerator(SudokuGeometry.FOUR);
+        for (long limit : new long[]{1, 7, 100, 288, 1000}) {
+            AtomicInteger delivered = new AtomicInteger();
+            long found = enumerator.enumerate(empty, limit, solution -> delivered.incrementAndGet());
+            assertEquals(Math.min(limit, 288), found);
+            assertEquals(found, delivered.get());
+        }
+        assertEquals(0, enumerator.count(empty, 0));
+        assertEquals(1000, new SolutionEnumerator(SudokuGeometry.SIX).count(new Board(SudokuGeometry.SIX), 1000));
+    }
+
+    @Test
+    void everyDeliveredBoardIsADistinctSolution() {
+        Board puzzle = new Board(SudokuGeometry.SIX);
+        puzzle.place(0, 0, 1);
+        puzzle.place(1, 4, 2);
+        puzzle.place(3, 2, 3);
+        puzzle.place(5, 5, 4);
+        Set<String> solutions = ConcurrentHashMap.newKeySet();
+        AtomicInteger delivered = new AtomicInteger();
+        long found = new SolutionEnumerator(SudokuGeometry.SIX).enumerate(puzzle, Long.MAX_VALUE, solution -> {
+            delivered.incrementAndGet();
+            assertTrue(solution.isSolved());
+            for (int cell = 0; cell < solution.getGeometry().getCellCount(); cell++) {
+                assertTrue(puzzle.get(cell) == 0 || puzzle.get(cell) == solution.get(cell));
+            }
+            solutions.add(PuzzleFormat.format(solution));
+        });
+        assertEquals(found, delivered.get());
+        assertEquals(found, solutions.size());
+        assertEquals(new BacktrackingSolver(SudokuGeometry.SIX).countSolutions(puzzle, Integer.MAX_VALUE), found);
+    }
+
+    @Test
+    void countsMatchTheBacktrackingSolverOnPartialBoards() {
+        SplittableRandom random = new SplittableRandom(22);
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.FOUR, SudokuGeometry.SIX,
+                SudokuGeometry.NINE}) {
+            BacktrackingSolver solver = new BacktrackingSolver(geometry);
+            SolutionEnumerator enumerator = new SolutionEnumerator(geometry);
+            int cellCount = geometry.getCellCount();
+            for (int round = 0; round < 40; round++) {
+                Board solved = new Board(geometry);
+                solver.solveRandomly(solved, random);
+                Board partial = new Board(geometry);
+                int kept = cellCount / 3 + random.nextInt(cellCount / 3);
+                for (int cell = 0; cell < cellCount; cell++) {
+                    if (random.nextInt(cellCount) < kept) {
+                        partial.place(cell / geometry.getSize(), cell % geometry.getSize(), solved.get(cell));
+                    }
+                }
+                String before = PuzzleFormat.format(partial);
+                int limit = 20_000;
+                assertEquals(solver.countSolutions(partial, limit), enumerator.count(partial, limit), before);
+                assertEquals(before, PuzzleFormat.format(partial));
+            }
+        }
+    }
+
+    @Test
+    void boardWithARepeatedDigitHasNoSolution() {
+        Board board = new Board(SudokuGeometry.NINE);
+        board.place(0, 0, 5);
+        board.place(0, 8, 5);
+        assertEquals(0, new SolutionEnumerator(SudokuGeometry.NINE).count(board, Long.MAX_VALUE));
+    }
+}
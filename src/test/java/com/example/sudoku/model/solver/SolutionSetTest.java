@@ -0,0 +1,155 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.PuzzleFormat;
+import com.example.sudoku.model.SudokuGeometry;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the digit masks of {@link SolutionSet} against the union of the solutions listed by
+ * {@link SolutionEnumerator}.
+ */
+class SolutionSetTest {
+    private static final int MAX_SOLUTIONS = 50_000;
+
+    @Test
+    void masksAreTheUnionOfAllSolutionsOfRandomBoards() {
+        SplittableRandom random = new SplittableRandom(23);
+        for (SudokuGeometry geometry : new SudokuGeometry[]{SudokuGeometry.FOUR, SudokuGeometry.SIX,
+                SudokuGeometry.NINE}) {
+            BacktrackingSolver solver = new BacktrackingSolver(geometry);
+            SolutionSet set = new SolutionSet(geometry);
+            int cellCount = geometry.getCellCount();
+            int checked = 0;
+            int several = 0;
+            int unsolvable = 0;
+            while (checked < 100) {
+                Board solved = new Board(geometry);
+                solver.solveRandomly(solved, random);
+                Board board = new Board(geometry);
+                int kept = cellCount / 4 + random.nextInt(cellCount / 2);
+                for (int cell = 0; cell < cellCount; cell++) {
+                    if (random.nextInt(cellCount) < kept) {
+                        board.place(cell / geometry.getSize(), cell % geometry.getSize(), solved.get(cell));
+                    }
+                }
+                if (random.nextInt(3) == 0) {
+                    placeWrongDigit(board, solved, random);
+                }
+                int count = solver.countSolutions(board, MAX_SOLUTIONS + 1);
+                if (count > MAX_SOLUTIONS) {
+                    continue;
+                }
+                assertMatchesEnumeration(set, board);
+                checked++;
+                several += count > 1 ? 1 : 0;
+                unsolvable += count == 0 ? 1 : 0;
+            }
+            assertTrue(several > 0, geometry + " sin tableros con varias soluciones");
+            assertTrue(unsolvable > 0, geometry + " sin tableros sin solución");
+        }
+    }
+
+    @Test
+    void boardWithSeveralSolutionsHasSeveralDigitsInSomeCells() {
+        Board board = PuzzleFormat.parse("12..34..........");
+        SolutionSet set = new SolutionSet(board.getGeometry());
+        assertTrue(set.compute(board));
+        assertMatchesEnumeration(set, board);
+        assertEquals(1 << 2 | 1 << 4, set.getDigits(4 * 2));
+        assertEquals(0, set.getForcedDigit(4 * 2));
+        assertEquals(1, set.getForcedDigit(0));
+    }
+
+    @Test
+    void unsolvableBoardWithoutRepeatsHasEmptyMasks() {
+        Board board = new Board(SudokuGeometry.FOUR);
+        board.place(0, 0, 1);
+        board.place(0, 1, 2);
+        board.place(2, 2, 3);
+        board.place(1, 3, 4);
+        assertFalse(board.hasConflicts());
+        SolutionSet set = new SolutionSet(SudokuGeometry.FOUR);
+        assertFalse(set.compute(board));
+        assertFalse(set.isSolvable());
+        for (int cell = 0; cell < SudokuGeometry.FOUR.getCellCount(); cell++) {
+            assertEquals(0, set.getDigits(cell));
+            assertEquals(0, set.getForcedDigit(cell));
+        }
+    }
+
+    @Test
+    void boardWithARepeatedDigitHasEmptyMasks() {
+        Board board = new Board(SudokuGeometry.NINE);
+        board.place(4, 0, 7);
+        board.place(4, 5, 7);
+        SolutionSet set = new SolutionSet(SudokuGeometry.NINE);
+        assertFalse(set.compute(board));
+        for (int cell = 0; cell < SudokuGeometry.NINE.getCellCount(); cell++) {
+            assertEquals(0, set.getDigits(cell));
+        }
+    }
+
+    /**
+     * Computes the masks of a board and compares them, the forced digits and the example with the solutions listed by
+     * a {@link SolutionEnumerator}.
+     */
+    private static void assertMatchesEnumeration(SolutionSet set, Board board) {
+        SudokuGeometry geometry = board.getGeometry();
+        int cellCount = geometry.getCellCount();
+        String before = PuzzleFormat.format(board);
+        AtomicIntegerArray union = new AtomicIntegerArray(cellCount);
+        long count = new SolutionEnumerator(geometry).enumerate(board, Long.MAX_VALUE, solution -> {
+            for (int cell = 0; cell < cellCount; cell++) {
+                int digit = 1 << solution.get(cell);
+                union.accumulateAndGet(cell, digit, (a, b) -> a | b);
+            }
+        });
+        assertEquals(count > 0, set.compute(board), before);
+        assertEquals(count > 0, set.isSolvable(), before);
+        assertEquals(before, PuzzleFormat.format(board));
+        for (int cell = 0; cell < cellCount; cell++) {
+            int mask = union.get(cell);
+            assertEquals(mask, set.getDigits(cell), before + " celda " + cell);
+            assertEquals(Integer.bitCount(mask) == 1 ? Integer.numberOfTrailingZeros(mask) : 0,
+                    set.getForcedDigit(cell), before + " celda " + cell);
+        }
+        if (count > 0) {
+            Board example = set.getExample();
+            assertTrue(example.isSolved(), before);
+            for (int cell = 0; cell < cellCount; cell++) {
+                assertTrue(board.get(cell) == 0 || board.get(cell) == example.get(cell), before);
+            }
+        }
+    }
+
+    /**
+     * Writes into an empty cell a digit that differs from the solution and does not repeat in the cell's units, which
+     * often leaves the board unsolvable.
+     */
+    private static void placeWrongDigit(Board board, Board solved, SplittableRandom random) {
+        int size = board.getSize();
+        int start = random.nextInt(size * size);
+        for (int offset = 0; offset < size * size; offset++) {
+            int cell = (start + offset) % (size * size);
+            int row = cell / size;
+            int col = cell % size;
+            if (board.get(cell) != 0) {
+                continue;
+            }
+            for (int digit = 1; digit <= size; digit++) {
+                if (digit != solved.get(cell) && board.canPlace(row, col, digit)) {
+                    board.place(row, col, digit);
+                    return;
+                }
+            }
+        }
+    }
+}
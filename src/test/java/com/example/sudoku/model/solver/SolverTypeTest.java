@@ -0,0 +1,100 @@
+package com.example.sudoku.model.solver;
+
+import com.example.sudoku.model.Board;
+import com.example.sudoku.model.PuzzleFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every {@link SolverType} solves the puzzle corpus shipped with the game, and that they all agree.
+ */
+class SolverTypeTest {
+    private static final String CORPUS = "/com/example/sudoku/puzzles/corpus.txt";
+
+    @Test
+    void everyEngineSolvesTheCorpusToTheSameSolution() throws IOException {
+        for (String line : readCorpus()) {
+            Board puzzle = PuzzleFormat.parse(line);
+            String reference = null;
+            for (SolverType type : SolverType.values()) {
+                Board work = new Board(puzzle.getGeometry());
+                work.copyFrom(puzzle);
+                assertTrue(type.create(puzzle.getGeometry()).solve(work), type + " " + line);
+                assertTrue(work.isSolved(), type + " " + line);
+                for (int cell = 0; cell < puzzle.getGeometry().getCellCount(); cell++) {
+                    if (puzzle.get(cell) != 0) {
+                        assertEquals(puzzle.get(cell), work.get(cell), type + " " + line);
+                    }
+                }
+                String solution = PuzzleFormat.format(work);
+                if (reference == null) {
+                    reference = solution;
+                } else {
+                    assertEquals(reference, solution, type + " " + line);
+                }
+            }
+        }
+    }
+
+    @Test
+    void everyEngineFindsTheCorpusPuzzlesUnique() throws IOException {
+        for (String line : readCorpus()) {
+            Board puzzle = PuzzleFormat.parse(line);
+            String before = PuzzleFormat.format(puzzle);
+            for (SolverType type : SolverType.values()) {
+                assertEquals(1, type.create(puzzle.getGeometry()).countSolutions(puzzle, 2), type + " " + line);
+                assertEquals(before, PuzzleFormat.format(puzzle), type + " " + line);
+            }
+        }
+    }
+
+    @Test
+    void everyEngineRejectsABoardWithARepeatedDigit() throws IOException {
+        Board puzzle = PuzzleFormat.parse(readCorpus().get(0));
+        int size = puzzle.getSize();
+        int first = -1;
+        for (int cell = 0; cell < size && first < 0; cell++) {
+            if (puzzle.get(cell) != 0) {
+                first = cell;
+            }
+        }
+        int empty = first == 0 ? 1 : 0;
+        while (puzzle.get(empty) != 0) {
+            empty++;
+        }
+        puzzle.place(0, empty, puzzle.get(first));
+        for (SolverType type : SolverType.values()) {
+            Board work = new Board(puzzle.getGeometry());
+            work.copyFrom(puzzle);
+            assertFalse(type.create(puzzle.getGeometry()).solve(work), type.toString());
+            assertEquals(0, type.create(puzzle.getGeometry()).countSolutions(puzzle, 2), type.toString());
+        }
+    }
+
+    private static List<String> readCorpus() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (InputStream in = SolverTypeTest.class.getResourceAsStream(CORPUS)) {
+            assertNotNull(in, CORPUS);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                line = line.strip();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+}